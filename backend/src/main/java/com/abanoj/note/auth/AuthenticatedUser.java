@@ -0,0 +1,25 @@
+package com.abanoj.note.auth;
+
+import com.abanoj.note.user.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built from the claims of a verified access token, so authenticated requests
+ * do not need to read the user row.
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+}
@@ -21,15 +21,18 @@ import org.springframework.web.bind.annotation.*;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "User registered successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @ApiResponse(responseCode = "409", description = "Email already in use")
+            @ApiResponse(responseCode = "409", description = "Email already in use"),
+            @ApiResponse(responseCode = "429", description = "Too many attempts")
     })
-    public ResponseEntity<AuthenticationResponse> register(@Valid @RequestBody RegisterRequest request){
+    public ResponseEntity<AuthenticationResponse> register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest){
+        loginThrottle.checkRegistration(httpRequest.getRemoteAddr());
         return ResponseEntity.status(HttpStatus.CREATED).body(authenticationService.register(request));
     }
 
@@ -38,9 +41,11 @@ public class AuthenticationController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Authentication successful"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many attempts")
     })
-    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody AuthenticationRequest request){
+    public ResponseEntity<AuthenticationResponse> authenticate(@Valid @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest){
+        loginThrottle.checkLogin(request.email(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
 
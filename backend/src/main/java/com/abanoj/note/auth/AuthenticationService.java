@@ -4,10 +4,14 @@ import com.abanoj.note.auth.dto.AuthenticationRequest;
 import com.abanoj.note.auth.dto.AuthenticationResponse;
 import com.abanoj.note.auth.dto.RegisterRequest;
 import com.abanoj.note.config.JwtService;
+import com.abanoj.note.config.VerifiedToken;
 import com.abanoj.note.exception.AuthenticationNotFoundException;
 import com.abanoj.note.exception.UserNotFoundException;
 import com.abanoj.note.token.Token;
+import com.abanoj.note.token.TokenDigest;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.token.TokenType;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
@@ -16,15 +20,19 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.abanoj.note.config.JwtAuthenticationFilter.TOKEN_TYPE;
 
@@ -34,10 +42,17 @@ import static com.abanoj.note.config.JwtAuthenticationFilter.TOKEN_TYPE;
 public class AuthenticationService {
     private final UserRepository userRepository;
     private final TokenRepository tokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final TokenGenerationCache tokenGenerationCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
 
+    @Value("${application.security.token.persist-raw:false}")
+    private boolean persistRawTokens;
+    @Value("${application.security.jwt.stateless-access-tokens:false}")
+    private boolean statelessAccessTokens;
+
     public AuthenticationResponse register(RegisterRequest request) {
         User user = User.builder()
                 .firstname(request.firstname())
@@ -49,45 +64,41 @@ public class AuthenticationService {
         userRepository.save(user);
         log.info("New user registered: {}", user.getEmail());
 
-        String jwtToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-        saveUserToken(jwtToken, user, jwtService.getJwtExpiration());
-        saveUserToken(refreshToken, user, jwtService.getRefreshExpiration());
-        return new AuthenticationResponse(jwtToken, refreshToken);
+        return issueTokens(user, user.getTokenGeneration());
     }
 
+    @Transactional
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
-        User user = userRepository.findByEmail(request.email()).orElseThrow(() -> new UserNotFoundException("User not found!"));
+        User user = authentication != null && authentication.getPrincipal() instanceof User principal
+                ? principal
+                : userRepository.findByEmail(request.email()).orElseThrow(() -> new UserNotFoundException("User not found!"));
         log.info("User authenticated: {}", request.email());
-        String jwtToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-        revokeAllUserTokens(user);
-        saveUserToken(jwtToken, user, jwtService.getJwtExpiration());
-        saveUserToken(refreshToken, user, jwtService.getRefreshExpiration());
-        return new AuthenticationResponse(jwtToken, refreshToken);
+        long generation = revokeAllUserTokens(user);
+        return issueTokens(user, generation);
     }
 
     @Transactional
     public AuthenticationResponse refreshToken(HttpServletRequest request) {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String refreshToken;
+        final VerifiedToken verifiedToken;
         final String email;
 
         if (authHeader == null || !authHeader.startsWith(TOKEN_TYPE)) {
             throw new AuthenticationNotFoundException("Authentication not found!");
         }
         refreshToken = authHeader.substring(7);
-        email = jwtService.extractUsername(refreshToken);
+        verifiedToken = jwtService.verify(refreshToken);
+        email = verifiedToken.subject();
 
         if (email == null) {
             throw new AuthenticationNotFoundException("Authentication not found!");
         }
 
-        String tokenType = jwtService.extractTokenType(refreshToken);
-        if (!JwtService.REFRESH_TOKEN_TYPE.equals(tokenType)) {
+        if (!verifiedToken.isRefreshToken()) {
             throw new AuthenticationNotFoundException("Token not valid!");
         }
 
@@ -95,40 +106,57 @@ public class AuthenticationService {
                 .findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found!"));
 
-        boolean isTokenValid = tokenRepository.findByToken(refreshToken)
-                .map(token -> !token.isRevoked())
-                .orElse(false);
+        boolean isTokenValid = tokenRevocationCache.isActive(refreshToken);
 
-        if (!jwtService.isTokenValid(refreshToken, user) || !isTokenValid) {
+        if (!jwtService.isTokenValid(verifiedToken, user) || !isTokenValid) {
             log.warn("Invalid refresh token for user: {}", email);
             throw new AuthenticationNotFoundException("Token not valid!");
         }
-        String accessToken = jwtService.generateToken(user);
-        String newRefreshToken = jwtService.generateRefreshToken(user);
+        long generation = revokeAllUserTokens(user);
+        return issueTokens(user, generation);
+    }
 
-        revokeAllUserTokens(user);
-        saveUserToken(accessToken, user, jwtService.getJwtExpiration());
-        saveUserToken(newRefreshToken, user, jwtService.getRefreshExpiration());
+    private AuthenticationResponse issueTokens(User user, long generation) {
+        Map<String, Token> issued = new LinkedHashMap<>();
+        String accessToken;
+        if (statelessAccessTokens) {
+            // Stateless access tokens are never stored; they stay valid while their generation is current.
+            accessToken = jwtService.generateToken(accessTokenClaims(user, generation), user);
+        } else {
+            accessToken = jwtService.generateToken(accessTokenClaims(user, null), user);
+            issued.put(accessToken, buildUserToken(accessToken, user, jwtService.getJwtExpiration()));
+        }
+        String refreshToken = jwtService.generateRefreshToken(user);
+        issued.put(refreshToken, buildUserToken(refreshToken, user, jwtService.getRefreshExpiration()));
+
+        tokenRepository.saveAll(issued.values());
+        issued.forEach(tokenRevocationCache::put);
+        return new AuthenticationResponse(accessToken, refreshToken);
+    }
 
-        return new AuthenticationResponse(accessToken, newRefreshToken);
+    private Map<String, Object> accessTokenClaims(User user, Long generation) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.USER_ID_CLAIM, user.getId());
+        claims.put(JwtService.ROLE_CLAIM, user.getRole().name());
+        if (generation != null) claims.put(JwtService.GENERATION_CLAIM, generation);
+        return claims;
     }
 
-    private void revokeAllUserTokens(User user) {
-        List<Token> validTokens = tokenRepository.findAllValidTokensByUser(user.getId());
-        if (validTokens.isEmpty()) return;
-        validTokens.forEach(token -> token.setRevoked(true));
-        tokenRepository.saveAll(validTokens);
+    private long revokeAllUserTokens(User user) {
+        tokenRepository.revokeAllByUser(user.getId());
+        tokenRevocationCache.revokeAllForUser(user.getId());
+        return statelessAccessTokens ? tokenGenerationCache.increment(user) : user.getTokenGeneration();
     }
 
-    private void saveUserToken(String jwtToken, User user, long expirationMillis) {
-        Token token = Token.builder()
-                .token(jwtToken)
+    private Token buildUserToken(String jwtToken, User user, long expirationMillis) {
+        return Token.builder()
+                .token(persistRawTokens ? jwtToken : null)
+                .tokenHash(TokenDigest.sha256(jwtToken))
                 .tokenType(TokenType.BEARER)
                 .user(user)
                 .revoked(false)
                 .expiresAt(LocalDateTime.now().plus(expirationMillis, ChronoUnit.MILLIS))
                 .build();
-        tokenRepository.save(token);
     }
 
 }
@@ -0,0 +1,82 @@
+package com.abanoj.note.auth;
+
+import com.abanoj.note.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token-bucket throttling of credential endpoints per email and per client address, checked before
+ * any password hashing is attempted.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final int emailCapacity;
+    private final int addressCapacity;
+
+    public LoginThrottle(@Value("${application.security.login-throttle.email-per-minute:10}") int emailCapacity,
+                         @Value("${application.security.login-throttle.address-per-minute:60}") int addressCapacity,
+                         @Value("${application.security.login-throttle.max-size:100000}") long maxSize) {
+        this.emailCapacity = emailCapacity;
+        this.addressCapacity = addressCapacity;
+        this.emailBuckets = buildCache(maxSize);
+        this.addressBuckets = buildCache(maxSize);
+    }
+
+    public void checkLogin(String email, String clientAddress) {
+        acquire(addressBuckets, clientAddress, addressCapacity);
+        acquire(emailBuckets, email.toLowerCase(Locale.ROOT), emailCapacity);
+    }
+
+    public void checkRegistration(String clientAddress) {
+        acquire(addressBuckets, clientAddress, addressCapacity);
+    }
+
+    private void acquire(Cache<String, TokenBucket> buckets, String key, int capacity) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity));
+        if (!bucket.tryConsume()) {
+            log.warn("Login throttled for {}", key);
+            throw new TooManyRequestsException("Too many attempts, try again later");
+        }
+    }
+
+    private static Cache<String, TokenBucket> buildCache(long maxSize) {
+        // An idle bucket refills completely within a minute, so dropping it after that loses nothing.
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    private static final class TokenBucket {
+        private static final long REFILL_PERIOD_NANOS = Duration.ofMinutes(1).toNanos();
+
+        private final int capacity;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefill) * capacity / REFILL_PERIOD_NANOS);
+            lastRefill = now;
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+    }
+}
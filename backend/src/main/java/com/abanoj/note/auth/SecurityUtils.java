@@ -23,7 +23,21 @@ public class SecurityUtils {
         return authentication.getName();
     }
 
+    public Long getCurrentUserId(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) return principal.id();
+            if (authentication.getPrincipal() instanceof User user) return user.getId();
+        }
+        return getCurrentUser().getId();
+    }
+
     public User getCurrentUser(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // The filter already resolved the user for this request; only fall back to a lookup for other principals.
+        if (authentication != null && authentication.isAuthenticated() && authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
         return userRepository
                 .findByEmail(getCurrentUsername())
                 .orElseThrow(() -> new UserNotFoundException("User not found!"));
@@ -3,9 +3,16 @@ package com.abanoj.note.checklist.controller;
 import com.abanoj.note.checklist.dto.ChecklistUpdateRequestDto;
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.checklist.dto.ChecklistResponseDto;
+import com.abanoj.note.checklist.dto.ChecklistCloneRequestDto;
 import com.abanoj.note.checklist.dto.ChecklistCreateRequestDto;
+import com.abanoj.note.checklist.dto.ChecklistSummaryResponseDto;
 import com.abanoj.note.checklist.mapper.ChecklistMapper;
 import com.abanoj.note.checklist.service.ChecklistService;
+import com.abanoj.note.concurrency.ETags;
+import com.abanoj.note.exception.VersionConflictException;
+import com.abanoj.note.pagination.CursorPage;
+import com.abanoj.note.pagination.SlicePage;
+import com.abanoj.note.pagination.SortableFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,8 +22,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,24 +46,73 @@ public class ChecklistController {
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<Page<ChecklistResponseDto>> getAll(
-            @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable){
+            @SortableFields({"updated", "title"}) @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable){
         Page<ChecklistResponseDto> checklistResponseDtoPage = checklistService.findAllChecklist(pageable)
                 .map(checklistMapper::toChecklistResponseDto);
         return ResponseEntity.ok(checklistResponseDtoPage);
     }
 
+    @GetMapping("/slice")
+    @Operation(summary = "Get all checklist for the authenticated user without counting them on every request")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Checklist retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<SlicePage<ChecklistResponseDto>> getSlice(
+            @SortableFields({"updated", "title"}) @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable,
+            @Parameter(description = "Include an approximate, periodically refreshed total") @RequestParam(defaultValue = "false") boolean includeTotal){
+        Slice<ChecklistResponseDto> slice = checklistService.findAllChecklistSlice(pageable)
+                .map(checklistMapper::toChecklistResponseDto);
+        return ResponseEntity.ok(SlicePage.of(slice, includeTotal ? checklistService.countChecklists() : null));
+    }
+
+    @GetMapping("/summaries")
+    @Operation(summary = "Get title, item count and progress of all checklists without their items")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Checklist summaries retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<Page<ChecklistSummaryResponseDto>> getAllSummaries(
+            @SortableFields({"updated", "title"}) @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable){
+        Page<ChecklistSummaryResponseDto> summaryPage = checklistService.findAllChecklistSummaries(pageable)
+                .map(checklistMapper::toChecklistSummaryResponseDto);
+        return ResponseEntity.ok(summaryPage);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get checklists of the authenticated user page by page using a cursor, most recently updated first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Checklist retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<CursorPage<ChecklistResponseDto>> scroll(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + CursorPage.MAX_SIZE) @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size){
+        return ResponseEntity.ok(checklistService.scrollChecklists(cursor, size).map(checklistMapper::toChecklistResponseDto));
+    }
+
     @GetMapping("/{checklistId}")
     @Operation(summary = "Get a checklist by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Checklist retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Checklist unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Checklist not found"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<ChecklistResponseDto> getChecklist(
-            @Parameter(description = "Checklist ID") @PathVariable("checklistId") Long id){
+            @Parameter(description = "Checklist ID") @PathVariable("checklistId") Long id,
+            @Parameter(description = "ETag of the cached checklist") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // Revalidation only reads the version column, the items are loaded when the checklist actually changed.
+        if (ifNoneMatch != null) {
+            Long version = checklistService.findChecklistVersion(id);
+            if (ETags.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+            }
+        }
         Checklist checklist = checklistService.findChecklist(id);
         ChecklistResponseDto checklistResponseDto = checklistMapper.toChecklistResponseDto(checklist);
-        return ResponseEntity.ok(checklistResponseDto);
+        return ResponseEntity.ok().eTag(ETags.of(checklist.getVersion())).body(checklistResponseDto);
     }
 
     @PostMapping
@@ -66,8 +124,27 @@ public class ChecklistController {
     })
     public ResponseEntity<ChecklistResponseDto> createChecklist(@Valid @RequestBody ChecklistCreateRequestDto checklistRequestDto){
         Checklist checklist = checklistMapper.toChecklist(checklistRequestDto);
-        ChecklistResponseDto checklistResponseDto = checklistMapper.toChecklistResponseDto(checklistService.createChecklist(checklist));
-        return ResponseEntity.status(HttpStatus.CREATED).body(checklistResponseDto);
+        Checklist savedChecklist = checklistService.createChecklist(checklist);
+        ChecklistResponseDto checklistResponseDto = checklistMapper.toChecklistResponseDto(savedChecklist);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(savedChecklist.getVersion())).body(checklistResponseDto);
+    }
+
+    @PostMapping("/{checklistId}:clone")
+    @Operation(summary = "Copy a checklist with all of its items")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Checklist copied successfully"),
+            @ApiResponse(responseCode = "404", description = "Checklist not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<ChecklistResponseDto> cloneChecklist(
+            @Parameter(description = "Checklist ID") @PathVariable("checklistId") Long id,
+            @RequestBody(required = false) ChecklistCloneRequestDto cloneRequestDto){
+        String title = cloneRequestDto != null ? cloneRequestDto.title() : null;
+        boolean resetStatuses = cloneRequestDto != null && cloneRequestDto.resetStatuses();
+        Checklist copy = checklistService.cloneChecklist(id, title, resetStatuses);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(copy.getVersion()))
+                .body(checklistMapper.toChecklistResponseDto(copy));
     }
 
     @PutMapping("/{checklistId}")
@@ -76,14 +153,25 @@ public class ChecklistController {
             @ApiResponse(responseCode = "200", description = "Checklist updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Checklist not found"),
+            @ApiResponse(responseCode = "409", description = "Checklist changed concurrently, the current checklist is returned"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version, the current checklist is returned"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<ChecklistResponseDto> updateChecklist(
             @Parameter(description = "Checklist ID") @PathVariable("checklistId") Long id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ChecklistUpdateRequestDto checklistRequestDto){
         Checklist checklist = checklistMapper.toChecklist(checklistRequestDto);
-        ChecklistResponseDto checklistUpdated = checklistMapper.toChecklistResponseDto(checklistService.updateChecklist(id, checklist));
-        return ResponseEntity.ok(checklistUpdated);
+        Checklist checklistUpdated;
+        try {
+            checklistUpdated = checklistService.updateChecklist(id, checklist, ETags.parseIfMatch(ifMatch));
+        } catch (VersionConflictException ex) {
+            Checklist current = checklistService.findChecklist(id);
+            return ResponseEntity.status(ex.getReason().getStatus())
+                    .eTag(ETags.of(current.getVersion()))
+                    .body(checklistMapper.toChecklistResponseDto(current));
+        }
+        return ResponseEntity.ok().eTag(ETags.of(checklistUpdated.getVersion())).body(checklistMapper.toChecklistResponseDto(checklistUpdated));
     }
 
     @DeleteMapping("/{checklistId}")
@@ -0,0 +1,10 @@
+package com.abanoj.note.checklist.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ChecklistCloneRequestDto(
+        @Schema(description = "Title of the copy, the source title when absent", example = "Groceries week 12")
+        String title,
+        @Schema(description = "Reset every copied item to PENDING", example = "true")
+        boolean resetStatuses) {
+}
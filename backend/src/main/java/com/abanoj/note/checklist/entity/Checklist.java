@@ -18,18 +18,28 @@ import java.util.Objects;
 @Builder
 public class Checklist {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "checklist_id")
+    @TableGenerator(name = "checklist_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "checklist", allocationSize = 50)
     @Column(updatable = false, nullable = false)
     private Long id;
     @Column(nullable = false)
     private String title;
     @OneToMany(mappedBy = "checklist", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("sortKey ASC, id ASC")
     @Builder.Default
     private List<Item> items = new ArrayList<>();
+    // Maintained only through relative bulk updates in ChecklistRepository, never by entity flushes.
+    @Column(name = "item_count", nullable = false, updatable = false)
+    private int itemCount;
+    @Column(name = "done_count", nullable = false, updatable = false)
+    private int doneCount;
     @Column(nullable = false, updatable = false)
     private LocalDateTime created;
     @Column(nullable = false)
     private LocalDateTime updated;
+    @Version
+    @Column(nullable = false)
+    private Long version;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
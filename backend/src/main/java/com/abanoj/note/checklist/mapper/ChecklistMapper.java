@@ -2,11 +2,12 @@ package com.abanoj.note.checklist.mapper;
 
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.item.entity.Item;
-import com.abanoj.note.item.entity.ItemStatus;
 import com.abanoj.note.item.mapper.ItemMapper;
 import com.abanoj.note.checklist.dto.ChecklistUpdateRequestDto;
 import com.abanoj.note.checklist.dto.ChecklistResponseDto;
 import com.abanoj.note.checklist.dto.ChecklistCreateRequestDto;
+import com.abanoj.note.checklist.dto.ChecklistSummaryResponseDto;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -35,15 +36,23 @@ public class ChecklistMapper {
         return new ChecklistResponseDto(
                 checklist.getId(),
                 checklist.getTitle(),
-                listOfItems.size(),
-                calculateChecklistProgress(listOfItems),
+                checklist.getItemCount(),
+                calculateChecklistProgress(checklist.getItemCount(), checklist.getDoneCount()),
                 listOfItems.stream().map(itemMapper::toItemDto).toList()
         );
     }
 
-    private Double calculateChecklistProgress(List<Item> items){
-        if(items == null || items.isEmpty()) return null;
-        long numberOfItemsDone = items.stream().filter(item -> item.getItemStatus() == ItemStatus.DONE).count();
-        return (double) numberOfItemsDone / items.size();
+    public ChecklistSummaryResponseDto toChecklistSummaryResponseDto(ChecklistSummary summary){
+        return new ChecklistSummaryResponseDto(
+                summary.id(),
+                summary.title(),
+                summary.itemCount(),
+                calculateChecklistProgress(summary.itemCount(), summary.doneCount())
+        );
+    }
+
+    private Double calculateChecklistProgress(int itemCount, int doneCount){
+        if(itemCount <= 0) return null;
+        return (double) doneCount / itemCount;
     }
 }
@@ -1,23 +1,101 @@
 package com.abanoj.note.checklist.repository;
 
 import com.abanoj.note.checklist.entity.Checklist;
-import com.abanoj.note.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChecklistRepository extends JpaRepository<Checklist, Long> {
-    @Query(value = "SELECT DISTINCT cl FROM Checklist cl LEFT JOIN FETCH cl.items WHERE cl.user = :user",
-            countQuery = "SELECT COUNT(cl) FROM Checklist cl WHERE cl.user = :user")
-    Page<Checklist> findAllByUser(@Param("user") User user, Pageable pageable);
-    @Query("SELECT cl FROM Checklist cl LEFT JOIN FETCH cl.items WHERE cl.id = :id AND cl.user = :user")
-    Optional<Checklist> findByIdAndUser(@Param("id") Long id, @Param("user") User user);
-    boolean existsByIdAndUser(Long id, User user);
+    @Query(value = "SELECT cl.id FROM Checklist cl WHERE cl.user.id = :userId",
+            countQuery = "SELECT COUNT(cl) FROM Checklist cl WHERE cl.user.id = :userId")
+    Page<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query("SELECT cl.id FROM Checklist cl WHERE cl.user.id = :userId")
+    Slice<Long> findIdSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+    long countByUserId(Long userId);
+    @Query("SELECT cl.id FROM Checklist cl WHERE cl.user.id = :userId ORDER BY cl.updated DESC, cl.id DESC")
+    List<Long> findFirstIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query("""
+            SELECT cl.id FROM Checklist cl
+            WHERE cl.user.id = :userId AND (cl.updated < :updated OR (cl.updated = :updated AND cl.id < :id))
+            ORDER BY cl.updated DESC, cl.id DESC""")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId,
+                                    @Param("updated") LocalDateTime updated,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+    @Query("SELECT DISTINCT cl FROM Checklist cl LEFT JOIN FETCH cl.items WHERE cl.id IN :ids")
+    List<Checklist> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    @Query("SELECT cl FROM Checklist cl LEFT JOIN FETCH cl.items WHERE cl.id = :id AND cl.user.id = :userId")
+    Optional<Checklist> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    boolean existsByIdAndUserId(Long id, Long userId);
+    @Query("SELECT cl.user.id FROM Checklist cl WHERE cl.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+    @Query(value = "SELECT new com.abanoj.note.checklist.repository.ChecklistSummary(cl.id, cl.title, cl.itemCount, cl.doneCount) FROM Checklist cl WHERE cl.user.id = :userId",
+            countQuery = "SELECT COUNT(cl) FROM Checklist cl WHERE cl.user.id = :userId")
+    Page<ChecklistSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    /**
+     * Every item write goes through here, so besides the counters it also bumps the checklist version: the checklist
+     * representation embeds its items and its ETag has to change with them.
+     */
+    @Modifying
+    @Query("UPDATE Checklist cl SET cl.itemCount = cl.itemCount + :items, cl.doneCount = cl.doneCount + :done, cl.version = cl.version + 1 WHERE cl.id = :id")
+    int adjustItemCounters(@Param("id") Long id, @Param("items") int items, @Param("done") int done);
+    // Bumps the version for item writes that leave the counters alone, such as renames and moves.
+    @Modifying
+    @Query("UPDATE Checklist cl SET cl.version = cl.version + 1 WHERE cl.id = :id")
+    int markItemsChanged(@Param("id") Long id);
+    @Query("SELECT cl.version FROM Checklist cl WHERE cl.id = :id AND cl.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    @Query("SELECT cl.title FROM Checklist cl WHERE cl.id = :id AND cl.user.id = :userId")
+    Optional<String> findTitleByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    @Modifying
+    @Query("DELETE FROM Checklist cl WHERE cl.id = :id AND cl.user.id = :userId")
+    int deleteOwnedChecklist(@Param("id") Long id, @Param("userId") Long userId);
+    @Query("SELECT cl.id FROM Checklist cl WHERE cl.id > :afterId ORDER BY cl.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    @Modifying
+    @Query("""
+            UPDATE Checklist cl
+            SET cl.itemCount = (SELECT COUNT(i) FROM Item i WHERE i.checklist.id = cl.id),
+                cl.doneCount = (SELECT COUNT(i) FROM Item i WHERE i.checklist.id = cl.id AND i.itemStatus = com.abanoj.note.item.entity.ItemStatus.DONE),
+                cl.version = cl.version + 1
+            WHERE cl.id IN :ids
+              AND (cl.itemCount <> (SELECT COUNT(i) FROM Item i WHERE i.checklist.id = cl.id)
+                OR cl.doneCount <> (SELECT COUNT(i) FROM Item i WHERE i.checklist.id = cl.id AND i.itemStatus = com.abanoj.note.item.entity.ItemStatus.DONE))""")
+    int repairItemCounters(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Pages the checklist ids in the database first and then fetches items for that page only.
+     * Combining a collection fetch join with a {@link Pageable} would make Hibernate paginate in memory.
+     */
+    default Page<Checklist> findAllByUserId(Long userId, Pageable pageable) {
+        Page<Long> ids = findIdsByUserId(userId, pageable);
+        return new PageImpl<>(findAllWithItemsByIdsInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    default Slice<Checklist> findSliceByUserId(Long userId, Pageable pageable) {
+        Slice<Long> ids = findIdSliceByUserId(userId, pageable);
+        return new SliceImpl<>(findAllWithItemsByIdsInOrder(ids.getContent()), pageable, ids.hasNext());
+    }
+
+    default List<Checklist> findAllWithItemsByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        return findAllWithItemsByIdIn(ids).stream()
+                .sorted(Comparator.comparingInt(checklist -> ids.indexOf(checklist.getId())))
+                .toList();
+    }
 }
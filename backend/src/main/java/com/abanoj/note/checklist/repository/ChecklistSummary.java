@@ -0,0 +1,9 @@
+package com.abanoj.note.checklist.repository;
+
+public record ChecklistSummary(
+        Long id,
+        String title,
+        int itemCount,
+        int doneCount
+) {
+}
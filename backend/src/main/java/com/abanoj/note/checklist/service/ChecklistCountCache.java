@@ -0,0 +1,16 @@
+package com.abanoj.note.checklist.service;
+
+import com.abanoj.note.checklist.repository.ChecklistRepository;
+import com.abanoj.note.pagination.UserCountCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChecklistCountCache extends UserCountCache {
+
+    public ChecklistCountCache(ChecklistRepository checklistRepository,
+                               @Value("${application.pagination.count-cache.refresh-seconds:30}") long refreshSeconds,
+                               @Value("${application.pagination.count-cache.max-size:10000}") long maxSize) {
+        super(checklistRepository::countByUserId, refreshSeconds, maxSize);
+    }
+}
@@ -0,0 +1,55 @@
+package com.abanoj.note.checklist.service;
+
+import com.abanoj.note.checklist.repository.ChecklistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the item counters of every checklist in primary-key ordered chunks and fixes the ones
+ * that drifted, e.g. through items changed outside ItemService.
+ */
+@Slf4j
+@Component
+public class ChecklistCounterRepairJob {
+
+    private final ChecklistRepository checklistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter repairedChecklists;
+
+    public ChecklistCounterRepairJob(ChecklistRepository checklistRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${application.checklist.counter-repair.chunk-size:500}") int chunkSize) {
+        this.checklistRepository = checklistRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.repairedChecklists = meterRegistry.counter("checklists.counters.repaired");
+    }
+
+    @Scheduled(cron = "${application.checklist.counter-repair.cron:0 30 3 * * *}")
+    public void repairItemCounters() {
+        long repaired = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = checklistRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
+            Integer fixed = transactionTemplate.execute(status -> checklistRepository.repairItemCounters(ids));
+            repaired += fixed != null ? fixed : 0;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) break;
+        }
+        repairedChecklists.increment(repaired);
+        if (repaired > 0) {
+            log.warn("Repaired item counters of {} checklists", repaired);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.abanoj.note.checklist.service;
+
+import com.abanoj.note.checklist.repository.ChecklistRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Owner id of each checklist, so item endpoints can check ownership without loading the checklist.
+ * The owner of a checklist never changes; entries only have to be evicted when it is deleted.
+ */
+@Component
+public class ChecklistOwnershipCache {
+
+    private final ChecklistRepository checklistRepository;
+    private final Cache<Long, Long> owners;
+
+    public ChecklistOwnershipCache(ChecklistRepository checklistRepository,
+                                   @Value("${application.checklist.ownership-cache.ttl-seconds:600}") long ttlSeconds,
+                                   @Value("${application.checklist.ownership-cache.max-size:100000}") long maxSize) {
+        this.checklistRepository = checklistRepository;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isOwnedBy(Long checklistId, Long userId) {
+        Long ownerId = owners.get(checklistId, id -> checklistRepository.findOwnerIdById(id).orElse(null));
+        return ownerId != null && Objects.equals(ownerId, userId);
+    }
+
+    public void evict(Long checklistId) {
+        owners.invalidate(checklistId);
+    }
+}
@@ -1,13 +1,22 @@
 package com.abanoj.note.checklist.service;
 
 import com.abanoj.note.checklist.entity.Checklist;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
+import com.abanoj.note.pagination.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface ChecklistService {
     Page<Checklist> findAllChecklist(Pageable pageable);
+    Slice<Checklist> findAllChecklistSlice(Pageable pageable);
+    long countChecklists();
+    Page<ChecklistSummary> findAllChecklistSummaries(Pageable pageable);
+    CursorPage<Checklist> scrollChecklists(String cursor, int size);
     Checklist findChecklist(Long checklistId);
+    Long findChecklistVersion(Long checklistId);
     Checklist createChecklist(Checklist checklist);
-    Checklist updateChecklist(Long id, Checklist checklist);
+    Checklist updateChecklist(Long id, Checklist checklist, Long expectedVersion);
     void deleteChecklist(Long id);
+    Checklist cloneChecklist(Long id, String title, boolean resetStatuses);
 }
@@ -4,15 +4,26 @@ import com.abanoj.note.auth.SecurityUtils;
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.exception.ResourceNotFoundException;
 import com.abanoj.note.checklist.repository.ChecklistRepository;
-import com.abanoj.note.user.User;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
+import com.abanoj.note.concurrency.VersionConflicts;
+import com.abanoj.note.config.IdBlockAllocator;
+import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.repository.ItemRepository;
+import com.abanoj.note.pagination.Cursor;
+import com.abanoj.note.pagination.CursorPage;
+import com.abanoj.note.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Slf4j
@@ -21,63 +32,147 @@ import java.util.Objects;
 public class ChecklistServiceImpl implements ChecklistService {
 
     private final ChecklistRepository checklistRepository;
+    private final ItemRepository itemRepository;
     private final SecurityUtils securityUtils;
+    private final UserRepository userRepository;
+    private final ChecklistCountCache checklistCountCache;
+    private final ChecklistOwnershipCache checklistOwnershipCache;
+    private final IdBlockAllocator idBlockAllocator;
+    private final VersionConflicts versionConflicts;
 
     @Override
     public Checklist findChecklist(Long checklistId) {
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
         return checklistRepository
-                .findByIdAndUser(checklistId, user)
+                .findByIdAndUserId(checklistId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Checklist with id: " + checklistId + " not found!"));
+    }
+
+    @Override
+    public Long findChecklistVersion(Long checklistId) {
+        Long userId = securityUtils.getCurrentUserId();
+        return checklistRepository
+                .findVersionByIdAndUserId(checklistId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Checklist with id: " + checklistId + " not found!"));
     }
 
     @Override
     public Page<Checklist> findAllChecklist(Pageable pageable) {
-        User user = securityUtils.getCurrentUser();
-        return checklistRepository.findAllByUser(user, pageable);
+        Long userId = securityUtils.getCurrentUserId();
+        return checklistRepository.findAllByUserId(userId, pageable);
+    }
+
+    @Override
+    public Slice<Checklist> findAllChecklistSlice(Pageable pageable) {
+        Long userId = securityUtils.getCurrentUserId();
+        return checklistRepository.findSliceByUserId(userId, pageable);
+    }
+
+    @Override
+    public long countChecklists() {
+        return checklistCountCache.get(securityUtils.getCurrentUserId());
+    }
+
+    @Override
+    public Page<ChecklistSummary> findAllChecklistSummaries(Pageable pageable) {
+        Long userId = securityUtils.getCurrentUserId();
+        return checklistRepository.findSummariesByUserId(userId, pageable);
+    }
+
+    @Override
+    public CursorPage<Checklist> scrollChecklists(String cursor, int size) {
+        Long userId = securityUtils.getCurrentUserId();
+        int limit = CursorPage.limit(size);
+        PageRequest fetch = PageRequest.of(0, CursorPage.fetchSize(size));
+        List<Long> ids;
+        if (cursor == null) {
+            ids = checklistRepository.findFirstIdsByUserId(userId, fetch);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            ids = checklistRepository.findIdsByUserIdAfter(userId, after.updated(), after.id(), fetch);
+        }
+        boolean hasNext = ids.size() > limit;
+        List<Checklist> checklists = checklistRepository.findAllWithItemsByIdsInOrder(hasNext ? ids.subList(0, limit) : ids);
+        return CursorPage.of(checklists, hasNext, checklist -> new Cursor(checklist.getUpdated(), checklist.getId()));
     }
 
     @Override
     @Transactional
     public Checklist createChecklist(Checklist checklist) {
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
         if(checklist.getId() != null) throw new IllegalArgumentException("Checklist already has and ID!");
         LocalDateTime now = LocalDateTime.now();
         checklist.setCreated(now);
         checklist.setUpdated(now);
-        checklist.setUser(user);
+        checklist.setUser(userRepository.getReferenceById(userId));
         Checklist savedChecklist = checklistRepository.save(checklist);
+        checklistCountCache.adjust(userId, 1);
         log.debug("Checklist created with id {}", savedChecklist.getId());
         return savedChecklist;
     }
 
     @Override
     @Transactional
-    public Checklist updateChecklist(Long id, Checklist checklist) {
-        User user = securityUtils.getCurrentUser();
+    public Checklist updateChecklist(Long id, Checklist checklist, Long expectedVersion) {
+        Long userId = securityUtils.getCurrentUserId();
         if(checklist.getId() == null) throw new IllegalArgumentException("Checklist must have an ID");
         if(!Objects.equals(checklist.getId(), id)) throw new IllegalArgumentException("Id and Checklist id do not match");
 
         Checklist checklistToUpdate = checklistRepository
-                .findByIdAndUser(id, user)
+                .findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Checklist with id " + id + " not found!"));
+        versionConflicts.checkExpectedVersion("checklist", id, expectedVersion, checklistToUpdate.getVersion());
 
         checklistToUpdate.setTitle(checklist.getTitle());
         checklistToUpdate.setUpdated(LocalDateTime.now());
 
-        log.debug("Checklist {} updated", id);
-        return checklistRepository.save(checklistToUpdate);
+        try {
+            Checklist savedChecklist = checklistRepository.saveAndFlush(checklistToUpdate);
+            log.debug("Checklist {} updated", id);
+            return savedChecklist;
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw versionConflicts.concurrentUpdate("checklist", id, ex);
+        }
     }
 
     @Override
     @Transactional
     public void deleteChecklist(Long id) {
-        User user = securityUtils.getCurrentUser();
-        Checklist checklist = checklistRepository
-                .findByIdAndUser(id, user)
-                .orElseThrow(() -> new ResourceNotFoundException("Checklist with id " + id + " not found!"));
-        checklistRepository.delete(checklist);
+        Long userId = securityUtils.getCurrentUserId();
+        itemRepository.deleteAllOwnedByChecklist(id, userId);
+        if (checklistRepository.deleteOwnedChecklist(id, userId) == 0) {
+            throw new ResourceNotFoundException("Checklist with id " + id + " not found!");
+        }
+        checklistOwnershipCache.evict(id);
+        checklistCountCache.adjust(userId, -1);
         log.debug("Checklist {} deleted", id);
     }
 
+    @Override
+    @Transactional
+    public Checklist cloneChecklist(Long id, String title, boolean resetStatuses) {
+        Long userId = securityUtils.getCurrentUserId();
+        String sourceTitle = checklistRepository.findTitleByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Checklist with id " + id + " not found!"));
+        LocalDateTime now = LocalDateTime.now();
+        Checklist copy = checklistRepository.save(Checklist.builder()
+                .title(title != null && !title.isBlank() ? title : sourceTitle)
+                .created(now)
+                .updated(now)
+                .user(userRepository.getReferenceById(userId))
+                .build());
+        Long copyId = copy.getId();
+
+        long itemCount = itemRepository.countByChecklistId(id);
+        if (itemCount > 0) {
+            long firstId = idBlockAllocator.allocate("item", itemCount);
+            itemRepository.copyItems(id, copyId, firstId, itemCount, resetStatuses ? ItemStatus.PENDING.name() : null, now);
+            checklistRepository.repairItemCounters(List.of(copyId));
+        }
+        checklistCountCache.adjust(userId, 1);
+        log.debug("Checklist {} cloned into {} with {} items", id, copyId, itemCount);
+        return checklistRepository.findByIdAndUserId(copyId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Checklist with id " + copyId + " not found!"));
+    }
+
 }
@@ -0,0 +1,47 @@
+package com.abanoj.note.concurrency;
+
+/**
+ * Maps entity versions to strong entity tags and back, e.g. version 3 is sent as {@code "3"}.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header lists the tag of the given version. Uses the weak comparison the header calls
+     * for, and treats tags that are not ours as simply not matching.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) return true;
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(of(version))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or {@code null} when the header is absent or
+     * {@code *} and any version may be overwritten.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
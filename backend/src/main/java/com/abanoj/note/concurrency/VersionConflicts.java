@@ -0,0 +1,38 @@
+package com.abanoj.note.concurrency;
+
+import com.abanoj.note.exception.VersionConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Checks optimistic-locking preconditions and builds the resulting {@link VersionConflictException}s,
+ * counting every conflict per entity and reason so contention shows up in metrics.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VersionConflicts {
+
+    private final MeterRegistry meterRegistry;
+
+    /** Fails when the client asked for a specific version and the entity has moved past it. */
+    public void checkExpectedVersion(String entity, Long id, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !Objects.equals(expectedVersion, currentVersion)) {
+            throw conflict(entity, id, VersionConflictException.Reason.PRECONDITION_FAILED, null);
+        }
+    }
+
+    public VersionConflictException concurrentUpdate(String entity, Long id, Throwable cause) {
+        return conflict(entity, id, VersionConflictException.Reason.CONCURRENT_UPDATE, cause);
+    }
+
+    private VersionConflictException conflict(String entity, Long id, VersionConflictException.Reason reason, Throwable cause) {
+        meterRegistry.counter("entities.version.conflicts", "entity", entity, "reason", reason.name().toLowerCase()).increment();
+        log.debug("Version conflict on {} {}: {}", entity, id, reason);
+        return new VersionConflictException("The " + entity + " with id " + id + " was changed by someone else", reason, cause);
+    }
+}
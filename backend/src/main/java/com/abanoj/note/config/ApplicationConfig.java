@@ -1,7 +1,9 @@
 package com.abanoj.note.config;
 
-import com.abanoj.note.user.UserRepository;
+import com.abanoj.note.user.UserCache;
+import com.abanoj.note.user.UserPasswordService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,27 +15,46 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserPasswordService userPasswordService;
+
+    @Value("${application.security.password.bcrypt-strength:0}")
+    private int bcryptStrength;
+    @Value("${application.security.password.target-hash-millis:250}")
+    private long targetHashMillis;
+    @Value("${application.security.password.hashing-threads:0}")
+    private int hashingThreads;
+    @Value("${application.security.password.queue-capacity:32}")
+    private int hashingQueueCapacity;
 
     @Bean
     public UserDetailsService userDetailsService(){
-        return username -> userRepository
+        return username -> userCache
                 .findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found!"));
     }
 
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrate(Duration.ofMillis(targetHashMillis));
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, hashingQueueCapacity);
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider(){
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userPasswordService);
         return authProvider;
     }
 
@@ -0,0 +1,36 @@
+package com.abanoj.note.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost whose hashing time on this machine is closest to a target latency.
+ * Each extra cost step doubles the work, so one sample at the reference cost is enough.
+ */
+@Slf4j
+final class BCryptStrengthCalibrator {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+    private static final int REFERENCE_STRENGTH = 10;
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    static int calibrate(Duration target) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(REFERENCE_STRENGTH);
+        encoder.encode(SAMPLE_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        long elapsed = Math.max(1L, System.nanoTime() - start);
+
+        double steps = Math.log((double) target.toNanos() / elapsed) / Math.log(2);
+        int strength = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, REFERENCE_STRENGTH + (int) Math.round(steps)));
+        log.info("BCrypt strength calibrated to {} (cost {} took {} ms, target {} ms)",
+                strength, REFERENCE_STRENGTH, elapsed / 1_000_000, target.toMillis());
+        return strength;
+    }
+}
@@ -0,0 +1,40 @@
+package com.abanoj.note.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves a run of consecutive ids from the id_generator table for rows written by set-based SQL,
+ * which bypasses Hibernate's generator. The reservation commits on its own so the generator row is
+ * not locked for the rest of the caller's transaction.
+ */
+@Component
+public class IdBlockAllocator {
+
+    // Must match the allocationSize of the @TableGenerator mappings. Reading next_val = n gives Hibernate the
+    // block n - POOL_SIZE + 2 .. n + 1, so ids handed out so far end at the stored value - POOL_SIZE + 1.
+    static final int POOL_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Reserves {@code count} ids of the given segment and returns the first one. */
+    public long allocate(String segment, long count) {
+        Long nextValue = transactionTemplate.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "select next_val from id_generator where sequence_name = ? for update", Long.class, segment);
+            jdbcTemplate.update("update id_generator set next_val = ? where sequence_name = ?", current + count, segment);
+            return current;
+        });
+        return nextValue - POOL_SIZE + 2;
+    }
+}
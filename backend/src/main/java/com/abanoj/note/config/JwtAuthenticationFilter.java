@@ -1,6 +1,9 @@
 package com.abanoj.note.config;
 
-import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.auth.AuthenticatedUser;
+import com.abanoj.note.token.TokenGenerationCache;
+import com.abanoj.note.token.TokenRevocationCache;
+import com.abanoj.note.user.Role;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -10,8 +13,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -20,6 +25,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Slf4j
 @Component
@@ -28,14 +34,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
-    private final TokenRepository tokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final TokenGenerationCache tokenGenerationCache;
     public final static String TOKEN_TYPE = "Bearer ";
 
+    @Value("${application.security.jwt.stateless-access-tokens:false}")
+    private boolean statelessAccessTokens;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String jwt;
-        final String email;
+        final VerifiedToken verifiedToken;
 
         if(authHeader == null || !authHeader.startsWith(TOKEN_TYPE)){
             filterChain.doFilter(request, response);
@@ -44,7 +54,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            email = jwtService.extractUsername(jwt);
+            verifiedToken = jwtService.verify(jwt);
         } catch (ExpiredJwtException ex) {
             log.warn("Expired JWT token on {}", request.getRequestURI());
             filterChain.doFilter(request, response);
@@ -54,23 +64,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
+        final String email = verifiedToken.subject();
         if(email != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            String tokenType = jwtService.extractTokenType(jwt);
-            if (!JwtService.ACCESS_TOKEN_TYPE.equals(tokenType)) {
+            if (!verifiedToken.isAccessToken()) {
                 filterChain.doFilter(request, response);
                 return;
             }
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            boolean isTokenValid = tokenRepository.findByToken(jwt)
-                    .map(token -> !token.isRevoked())
-                    .orElse(false);
-            if(jwtService.isTokenValid(jwt, userDetails) && isTokenValid){
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.debug("JWT authentication successful for user: {}", email);
+            boolean isTokenValid = statelessAccessTokens
+                    ? tokenGenerationCache.isCurrent(email, verifiedToken.generation())
+                    : tokenRevocationCache.isActive(jwt);
+            if (verifiedToken.hasIdentityClaims()) {
+                // Identity comes from the signed claims, so the user row is not read.
+                if (isTokenValid && !verifiedToken.isExpired()) {
+                    AuthenticatedUser principal = new AuthenticatedUser(verifiedToken.userId(), email, Role.valueOf(verifiedToken.role()));
+                    authenticate(request, principal, principal.getAuthorities());
+                }
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                if(jwtService.isTokenValid(verifiedToken, userDetails) && isTokenValid){
+                    authenticate(request, userDetails, userDetails.getAuthorities());
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, Object principal, Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        log.debug("JWT authentication successful for user: {}", authToken.getName());
+    }
 }
@@ -1,6 +1,7 @@
 package com.abanoj.note.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -19,6 +20,9 @@ public class JwtService {
 
     public static final String ACCESS_TOKEN_TYPE = "access";
     public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String GENERATION_CLAIM = "gen";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
     private static final String TOKEN_TYPE_CLAIM = "type";
 
     @Value("${application.security.jwt.secret-key}")
@@ -28,6 +32,10 @@ public class JwtService {
     @Value("${application.security.jwt.refresh.expiration}")
     private long REFRESH_EXPIRATION;
 
+    // Decoding the key and building the parser are not free, so both are done once and reused.
+    private volatile SecretKey signInKey;
+    private volatile JwtParser jwtParser;
+
     public long getJwtExpiration() {
         return JWT_EXPIRATION;
     }
@@ -36,6 +44,19 @@ public class JwtService {
         return REFRESH_EXPIRATION;
     }
 
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(TOKEN_TYPE_CLAIM, String.class),
+                claims.getExpiration(),
+                claims.getIssuedAt(),
+                claims.get(GENERATION_CLAIM, Long.class),
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.get(ROLE_CLAIM, String.class)
+        );
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -46,17 +67,30 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
 
+    private SecretKey getSignInKey() {
+        SecretKey key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -87,15 +121,10 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject() != null && token.subject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 }
@@ -1,19 +1,19 @@
 package com.abanoj.note.config;
 
-import com.abanoj.note.token.Token;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 import static com.abanoj.note.config.JwtAuthenticationFilter.TOKEN_TYPE;
 
 @Slf4j
@@ -22,9 +22,14 @@ import static com.abanoj.note.config.JwtAuthenticationFilter.TOKEN_TYPE;
 public class LogoutService implements LogoutHandler {
 
     private final TokenRepository tokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final TokenGenerationCache tokenGenerationCache;
     private final JwtService jwtService;
     private final UserRepository userRepository;
 
+    @Value("${application.security.jwt.stateless-access-tokens:false}")
+    private boolean statelessAccessTokens;
+
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
@@ -37,7 +42,7 @@ public class LogoutService implements LogoutHandler {
 
         String email;
         try {
-            email = jwtService.extractUsername(jwt);
+            email = jwtService.verify(jwt).subject();
         } catch (Exception ex) {
             log.warn("Invalid JWT on logout: {}", ex.getMessage());
             return;
@@ -48,10 +53,11 @@ public class LogoutService implements LogoutHandler {
         }
 
         userRepository.findByEmail(email).ifPresent(user -> {
-            List<Token> validTokens = tokenRepository.findAllValidTokensByUser(user.getId());
-            if (validTokens.isEmpty()) return;
-            validTokens.forEach(token -> token.setRevoked(true));
-            tokenRepository.saveAll(validTokens);
+            // The rows change first, so a cache miss before the cached copies are revoked already reads them revoked.
+            int revoked = tokenRepository.revokeAllByUser(user.getId());
+            if (statelessAccessTokens) tokenGenerationCache.increment(user);
+            tokenRevocationCache.revokeAllForUser(user.getId());
+            if (revoked == 0) return;
             log.info("All tokens revoked for user: {}", email);
         });
     }
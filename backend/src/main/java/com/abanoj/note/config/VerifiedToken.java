@@ -0,0 +1,29 @@
+package com.abanoj.note.config;
+
+import java.util.Date;
+
+public record VerifiedToken(
+        String subject,
+        String type,
+        Date expiration,
+        Date issuedAt,
+        Long generation,
+        Long userId,
+        String role
+) {
+    public boolean isAccessToken() {
+        return JwtService.ACCESS_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean hasIdentityClaims() {
+        return userId != null && role != null;
+    }
+
+    public boolean isExpired() {
+        return expiration == null || expiration.before(new Date());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -44,6 +45,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(exception = VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleException(VersionConflictException ex, HttpServletRequest request){
+        log.warn("Version conflict on {}: {}", request.getRequestURI(), ex.getMessage());
+        HttpStatus status = ex.getReason().getStatus();
+        ErrorResponse errorResponse = new ErrorResponse(
+                ZonedDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    @ExceptionHandler(exception = ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleException(ObjectOptimisticLockingFailureException ex, HttpServletRequest request){
+        log.warn("Concurrent update on {}: {}", request.getRequestURI(), ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                ZonedDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                "The resource was changed by someone else, reload it and try again",
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(exception = AuthenticationNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleException(AuthenticationNotFoundException ex, HttpServletRequest request){
         log.warn("Authentication failed on {}: {}", request.getRequestURI(), ex.getMessage());
@@ -84,6 +112,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(exception = TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleException(TooManyRequestsException ex, HttpServletRequest request){
+        log.warn("Request rejected on {}: {}", request.getRequestURI(), ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                ZonedDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(exception = MethodArgumentNotValidException.class)
     public ResponseEntity<MethodArgumentNotValidErrorResponse> handleException(MethodArgumentNotValidException ex, HttpServletRequest request){
         log.warn("Validation failed on {}: {}", request.getRequestURI(), ex.getMessage());
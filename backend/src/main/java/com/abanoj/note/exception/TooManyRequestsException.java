@@ -0,0 +1,11 @@
+package com.abanoj.note.exception;
+
+public class TooManyRequestsException extends RuntimeException{
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
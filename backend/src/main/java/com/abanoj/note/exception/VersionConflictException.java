@@ -0,0 +1,29 @@
+package com.abanoj.note.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+    @Getter
+    public enum Reason {
+        /** The If-Match version sent by the client is not the current one. */
+        PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED),
+        /** Another request committed a change between our read and our write. */
+        CONCURRENT_UPDATE(HttpStatus.CONFLICT);
+
+        private final HttpStatus status;
+
+        Reason(HttpStatus status) {
+            this.status = status;
+        }
+    }
+
+    private final Reason reason;
+
+    public VersionConflictException(String message, Reason reason, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+}
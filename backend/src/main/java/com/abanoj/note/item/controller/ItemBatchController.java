@@ -0,0 +1,64 @@
+package com.abanoj.note.item.controller;
+
+import com.abanoj.note.item.dto.ItemBatchRequestDto;
+import com.abanoj.note.item.dto.ItemBatchResponseDto;
+import com.abanoj.note.item.dto.ItemBulkUpdateRequestDto;
+import com.abanoj.note.item.dto.ItemBulkUpdateResponseDto;
+import com.abanoj.note.item.dto.ItemOperationResultDto;
+import com.abanoj.note.item.mapper.ItemMapper;
+import com.abanoj.note.item.service.ItemOperation;
+import com.abanoj.note.item.service.ItemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/checklists/{checklistId}")
+@RequiredArgsConstructor
+@Tag(name = "Items", description = "Item management within a checklist")
+public class ItemBatchController {
+
+    private final ItemService itemService;
+    private final ItemMapper itemMapper;
+
+    @PostMapping("/items:batch")
+    @Operation(summary = "Create, update and delete items in one request")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Operations applied, see the per-operation status"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Checklist not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<ItemBatchResponseDto> batchItems(
+            @Parameter(description = "Item list ID") @PathVariable("checklistId") Long checklistId,
+            @Valid @RequestBody ItemBatchRequestDto batchRequestDto){
+        List<ItemOperation> operations = batchRequestDto.operations().stream().map(itemMapper::toItemOperation).toList();
+        List<ItemOperationResultDto> results = itemService.applyBatch(checklistId, operations).stream()
+                .map(itemMapper::toItemOperationResultDto)
+                .toList();
+        return ResponseEntity.ok(new ItemBatchResponseDto(results));
+    }
+
+    @PostMapping("/items:bulk-update")
+    @Operation(summary = "Update status or priority of every item matching a filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Items updated, see the affected count"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Checklist not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<ItemBulkUpdateResponseDto> bulkUpdateItems(
+            @Parameter(description = "Item list ID") @PathVariable("checklistId") Long checklistId,
+            @Valid @RequestBody ItemBulkUpdateRequestDto bulkUpdateRequestDto){
+        int updated = itemService.bulkUpdateItems(checklistId, itemMapper.toItemBulkUpdate(bulkUpdateRequestDto));
+        return ResponseEntity.ok(new ItemBulkUpdateResponseDto(updated));
+    }
+}
@@ -1,7 +1,10 @@
 package com.abanoj.note.item.controller;
 
+import com.abanoj.note.concurrency.ETags;
+import com.abanoj.note.exception.VersionConflictException;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.dto.ItemDto;
+import com.abanoj.note.item.dto.ItemMoveDto;
 import com.abanoj.note.item.mapper.ItemMapper;
 import com.abanoj.note.item.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -51,7 +55,7 @@ public class ItemController {
             @Parameter(description = "Item ID") @PathVariable("itemId") Long itemId){
         Item item = itemService.findItem(checklistId, itemId);
         ItemDto itemDto = itemMapper.toItemDto(item);
-        return ResponseEntity.ok(itemDto);
+        return ResponseEntity.ok().eTag(ETags.of(item.getVersion())).body(itemDto);
     }
 
     @PostMapping
@@ -67,7 +71,7 @@ public class ItemController {
             @Valid @RequestBody ItemDto newItemDto){
         Item newItem = itemService.createItem(checklistId, itemMapper.toItem(newItemDto));
         ItemDto itemDto = itemMapper.toItemDto(newItem);
-        return ResponseEntity.status(HttpStatus.CREATED).body(itemDto);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(newItem.getVersion())).body(itemDto);
     }
 
     @PutMapping("/{itemId}")
@@ -76,15 +80,42 @@ public class ItemController {
             @ApiResponse(responseCode = "200", description = "Item updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Item or item list not found"),
+            @ApiResponse(responseCode = "409", description = "Item changed concurrently, the current item is returned"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version, the current item is returned"),
             @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<ItemDto> updateItem(
             @Parameter(description = "Item list ID") @PathVariable("checklistId") Long checklistId,
             @Parameter(description = "Item ID") @PathVariable("itemId") Long itemId,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ItemDto itemDtoToUpdate){
-        Item itemUpdated = itemService.updateItem(checklistId, itemId, itemMapper.toItem(itemDtoToUpdate));
+        Item itemUpdated;
+        try {
+            itemUpdated = itemService.updateItem(checklistId, itemId, itemMapper.toItem(itemDtoToUpdate), ETags.parseIfMatch(ifMatch));
+        } catch (VersionConflictException ex) {
+            Item current = itemService.findItem(checklistId, itemId);
+            return ResponseEntity.status(ex.getReason().getStatus())
+                    .eTag(ETags.of(current.getVersion()))
+                    .body(itemMapper.toItemDto(current));
+        }
         ItemDto itemDtoUpdated = itemMapper.toItemDto(itemUpdated);
-        return ResponseEntity.ok(itemDtoUpdated);
+        return ResponseEntity.ok().eTag(ETags.of(itemUpdated.getVersion())).body(itemDtoUpdated);
+    }
+
+    @PostMapping("/{itemId}:move")
+    @Operation(summary = "Move an item to a new position in its checklist")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Item moved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Item, neighbour or checklist not found"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<Void> moveItem(
+            @Parameter(description = "Item list ID") @PathVariable("checklistId") Long checklistId,
+            @Parameter(description = "Item ID") @PathVariable("itemId") Long itemId,
+            @RequestBody ItemMoveDto itemMoveDto){
+        itemService.moveItem(checklistId, itemId, itemMoveDto.afterId(), itemMoveDto.beforeId());
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{itemId}")
@@ -0,0 +1,18 @@
+package com.abanoj.note.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ItemBatchRequestDto(
+        @Schema(description = "Operations applied in order within one transaction")
+        @NotEmpty(message = "There must be at least one operation")
+        @Size(max = ItemBatchRequestDto.MAX_OPERATIONS, message = "A batch cannot exceed " + ItemBatchRequestDto.MAX_OPERATIONS + " operations")
+        List<@Valid @NotNull ItemOperationDto> operations) {
+
+    public static final int MAX_OPERATIONS = 1000;
+}
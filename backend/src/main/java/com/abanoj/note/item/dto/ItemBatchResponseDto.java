@@ -0,0 +1,10 @@
+package com.abanoj.note.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ItemBatchResponseDto(
+        @Schema(description = "One result per operation, in request order")
+        List<ItemOperationResultDto> results) {
+}
@@ -0,0 +1,11 @@
+package com.abanoj.note.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public record ItemBulkUpdateRequestDto(
+        @Schema(description = "Items to update, all items of the checklist when absent")
+        ItemFilterDto where,
+        @Schema(description = "Values to set")
+        @NotNull(message = "There must be values to set") ItemChangesDto set) {
+}
@@ -0,0 +1,8 @@
+package com.abanoj.note.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ItemBulkUpdateResponseDto(
+        @Schema(description = "Number of items that changed", example = "12")
+        int updated) {
+}
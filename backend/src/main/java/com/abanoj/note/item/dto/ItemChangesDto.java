@@ -0,0 +1,12 @@
+package com.abanoj.note.item.dto;
+
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ItemChangesDto(
+        @Schema(description = "New status, unchanged when absent", example = "DONE")
+        ItemStatus status,
+        @Schema(description = "New priority, unchanged when absent", example = "LOW")
+        ItemPriority priority) {
+}
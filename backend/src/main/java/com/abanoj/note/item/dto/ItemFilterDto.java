@@ -0,0 +1,14 @@
+package com.abanoj.note.item.dto;
+
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Set;
+
+public record ItemFilterDto(
+        @Schema(description = "Only items currently in one of these statuses, all when empty", example = "[\"PENDING\", \"IN_PROGRESS\"]")
+        Set<ItemStatus> status,
+        @Schema(description = "Only items currently with one of these priorities, all when empty", example = "[\"HIGH\"]")
+        Set<ItemPriority> priority) {
+}
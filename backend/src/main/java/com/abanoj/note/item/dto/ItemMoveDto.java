@@ -0,0 +1,10 @@
+package com.abanoj.note.item.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ItemMoveDto(
+        @Schema(description = "Place the item right after this item, or at the top when absent", example = "3")
+        Long afterId,
+        @Schema(description = "Place the item right before this item, or at the bottom when absent", example = "4")
+        Long beforeId) {
+}
@@ -0,0 +1,20 @@
+package com.abanoj.note.item.dto;
+
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.service.ItemOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public record ItemOperationDto(
+        @Schema(description = "Operation to apply", example = "CREATE")
+        @NotNull(message = "Every operation must have an op") ItemOperationType op,
+        @Schema(description = "Item ID, required for UPDATE and DELETE", example = "1")
+        Long id,
+        @Schema(description = "Item title, required for CREATE and UPDATE", example = "Buy groceries")
+        String title,
+        @Schema(description = "Item status", example = "PENDING")
+        ItemStatus status,
+        @Schema(description = "Item priority", example = "HIGH")
+        ItemPriority priority) {
+}
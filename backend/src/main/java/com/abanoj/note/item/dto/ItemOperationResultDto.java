@@ -0,0 +1,15 @@
+package com.abanoj.note.item.dto;
+
+import com.abanoj.note.item.service.ItemOperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ItemOperationResultDto(
+        @Schema(description = "Operation that was applied", example = "CREATE")
+        ItemOperationType op,
+        @Schema(description = "Item ID", example = "1")
+        Long id,
+        @Schema(description = "HTTP status of the individual operation", example = "201")
+        int status,
+        @Schema(description = "Resulting item, absent for deletes and failures")
+        ItemDto item) {
+}
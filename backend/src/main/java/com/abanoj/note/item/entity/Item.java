@@ -11,10 +11,10 @@ import java.util.Objects;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_id")
+    @TableGenerator(name = "item_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "item", allocationSize = 50)
     @Column(updatable = false, nullable = false)
     private Long id;
     @Column(nullable = false)
@@ -32,6 +32,21 @@ public class Item {
     private LocalDateTime created;
     @Column(nullable = false)
     private LocalDateTime updated;
+    @Column(name = "sort_key", nullable = false, length = 128)
+    private String sortKey;
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Item(Long id, String title, ItemStatus itemStatus, ItemPriority itemPriority, Checklist checklist, LocalDateTime created, LocalDateTime updated) {
+        this.id = id;
+        this.title = title;
+        this.itemStatus = itemStatus;
+        this.itemPriority = itemPriority;
+        this.checklist = checklist;
+        this.created = created;
+        this.updated = updated;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -1,9 +1,16 @@
 package com.abanoj.note.item.mapper;
 
 import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.dto.ItemBulkUpdateRequestDto;
 import com.abanoj.note.item.dto.ItemDto;
+import com.abanoj.note.item.dto.ItemOperationDto;
+import com.abanoj.note.item.dto.ItemOperationResultDto;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.service.ItemBulkUpdate;
+import com.abanoj.note.item.service.ItemOperation;
+import com.abanoj.note.item.service.ItemOperationResult;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -30,4 +37,37 @@ public class ItemMapper {
                 null
         );
     }
+
+    public ItemOperation toItemOperation(ItemOperationDto operationDto) {
+        return new ItemOperation(
+                operationDto.op(),
+                operationDto.id(),
+                toItem(new ItemDto(operationDto.id(), operationDto.title(), operationDto.status(), operationDto.priority()))
+        );
+    }
+
+    public ItemOperationResultDto toItemOperationResultDto(ItemOperationResult result) {
+        HttpStatus status = switch (result.outcome()) {
+            case CREATED -> HttpStatus.CREATED;
+            case UPDATED -> HttpStatus.OK;
+            case DELETED -> HttpStatus.NO_CONTENT;
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+        };
+        boolean hasBody = result.outcome() == ItemOperationResult.Outcome.CREATED || result.outcome() == ItemOperationResult.Outcome.UPDATED;
+        return new ItemOperationResultDto(
+                result.type(),
+                result.itemId(),
+                status.value(),
+                hasBody ? toItemDto(result.item()) : null
+        );
+    }
+
+    public ItemBulkUpdate toItemBulkUpdate(ItemBulkUpdateRequestDto requestDto) {
+        return new ItemBulkUpdate(
+                requestDto.where() != null ? requestDto.where().status() : null,
+                requestDto.where() != null ? requestDto.where().priority() : null,
+                requestDto.set().status(),
+                requestDto.set().priority()
+        );
+    }
 }
@@ -1,15 +1,94 @@
 package com.abanoj.note.item.repository;
 
 import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByChecklistId(Long checklistId);
+    @Query("SELECT i FROM Item i WHERE i.checklist.id = :checklistId ORDER BY i.sortKey, i.id")
+    List<Item> findByChecklistId(@Param("checklistId") Long checklistId);
     Optional<Item> findByChecklistIdAndId(Long checklistId, Long id);
-    void deleteByChecklistIdAndId(Long checklistId, Long id);
+    List<Item> findByChecklistIdAndIdIn(Long checklistId, Collection<Long> ids);
+    long countByChecklistId(Long checklistId);
+    @Query("SELECT i.itemStatus FROM Item i WHERE i.checklist.id = :checklistId AND i.id = :id")
+    Optional<ItemStatus> findStatusByChecklistIdAndId(@Param("checklistId") Long checklistId, @Param("id") Long id);
+    @Modifying
+    @Query("""
+            DELETE FROM Item i
+            WHERE i.id = :id
+              AND i.checklist.id IN (SELECT cl.id FROM Checklist cl WHERE cl.id = :checklistId AND cl.user.id = :userId)
+            """)
+    int deleteOwnedItem(@Param("checklistId") Long checklistId, @Param("id") Long id, @Param("userId") Long userId);
+    @Modifying
+    @Query("""
+            DELETE FROM Item i
+            WHERE i.checklist.id IN (SELECT cl.id FROM Checklist cl WHERE cl.id = :checklistId AND cl.user.id = :userId)
+            """)
+    int deleteAllOwnedByChecklist(@Param("checklistId") Long checklistId, @Param("userId") Long userId);
+    @Modifying
+    @Query("""
+            UPDATE Item i
+            SET i.itemStatus = COALESCE(:status, i.itemStatus),
+                i.itemPriority = COALESCE(:priority, i.itemPriority),
+                i.updated = :now,
+                i.version = i.version + 1
+            WHERE i.itemStatus IN :statuses
+              AND i.itemPriority IN :priorities
+              AND (i.itemStatus <> COALESCE(:status, i.itemStatus) OR i.itemPriority <> COALESCE(:priority, i.itemPriority))
+              AND i.checklist.id IN (SELECT cl.id FROM Checklist cl WHERE cl.id = :checklistId AND cl.user.id = :userId)
+            """)
+    int bulkUpdateOwnedItems(@Param("checklistId") Long checklistId,
+                             @Param("userId") Long userId,
+                             @Param("statuses") Collection<ItemStatus> statuses,
+                             @Param("priorities") Collection<ItemPriority> priorities,
+                             @Param("status") ItemStatus status,
+                             @Param("priority") ItemPriority priority,
+                             @Param("now") LocalDateTime now);
+    @Query("SELECT i.sortKey FROM Item i WHERE i.checklist.id = :checklistId AND i.id = :id")
+    Optional<String> findSortKey(@Param("checklistId") Long checklistId, @Param("id") Long id);
+    @Query("SELECT MAX(i.sortKey) FROM Item i WHERE i.checklist.id = :checklistId")
+    Optional<String> findMaxSortKey(@Param("checklistId") Long checklistId);
+    @Query("SELECT MIN(i.sortKey) FROM Item i WHERE i.checklist.id = :checklistId AND i.sortKey > :sortKey AND i.id <> :excludedId")
+    Optional<String> findNextSortKey(@Param("checklistId") Long checklistId, @Param("sortKey") String sortKey, @Param("excludedId") Long excludedId);
+    @Query("SELECT MAX(i.sortKey) FROM Item i WHERE i.checklist.id = :checklistId AND i.sortKey < :sortKey AND i.id <> :excludedId")
+    Optional<String> findPreviousSortKey(@Param("checklistId") Long checklistId, @Param("sortKey") String sortKey, @Param("excludedId") Long excludedId);
+    @Modifying
+    @Query("UPDATE Item i SET i.sortKey = :sortKey, i.updated = :now, i.version = i.version + 1 WHERE i.checklist.id = :checklistId AND i.id = :id")
+    int updateSortKey(@Param("checklistId") Long checklistId, @Param("id") Long id, @Param("sortKey") String sortKey, @Param("now") LocalDateTime now);
+    @Query("""
+            SELECT DISTINCT i.checklist.id FROM Item i
+            WHERE LENGTH(i.sortKey) > :maxLength AND i.checklist.id > :afterId
+            ORDER BY i.checklist.id""")
+    List<Long> findChecklistIdsWithSortKeysLongerThan(@Param("maxLength") int maxLength, @Param("afterId") Long afterId, Pageable pageable);
+    /**
+     * Copies at most {@code count} items of one checklist into another in a single statement, assigning
+     * consecutive ids from {@code firstId} and keeping their ranks. A null {@code status} keeps each status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert into item (id, title, item_status, item_priority, checklist_id, created, updated, sort_key)
+            select :firstId + src.rn - 1, src.title, coalesce(:status, src.item_status), src.item_priority, :targetId, :now, :now, src.sort_key
+            from (select i.title, i.item_status, i.item_priority, i.sort_key,
+                         row_number() over (order by i.sort_key, i.id) as rn
+                  from item i
+                  where i.checklist_id = :sourceId) src
+            where src.rn <= :count""", nativeQuery = true)
+    int copyItems(@Param("sourceId") Long sourceId,
+                  @Param("targetId") Long targetId,
+                  @Param("firstId") long firstId,
+                  @Param("count") long count,
+                  @Param("status") String status,
+                  @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,13 @@
+package com.abanoj.note.item.service;
+
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+
+import java.util.Set;
+
+/**
+ * Sets {@code status} and/or {@code priority} on every item of a checklist whose current status is in
+ * {@code statuses} and whose priority is in {@code priorities}. An empty filter set matches every value.
+ */
+public record ItemBulkUpdate(Set<ItemStatus> statuses, Set<ItemPriority> priorities, ItemStatus status, ItemPriority priority) {
+}
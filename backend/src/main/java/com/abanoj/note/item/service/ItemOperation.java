@@ -0,0 +1,6 @@
+package com.abanoj.note.item.service;
+
+import com.abanoj.note.item.entity.Item;
+
+public record ItemOperation(ItemOperationType type, Long id, Item item) {
+}
@@ -0,0 +1,14 @@
+package com.abanoj.note.item.service;
+
+import com.abanoj.note.item.entity.Item;
+
+public record ItemOperationResult(ItemOperationType type, Outcome outcome, Long requestedId, Item item) {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, NOT_FOUND
+    }
+
+    public Long itemId() {
+        return item != null ? item.getId() : requestedId;
+    }
+}
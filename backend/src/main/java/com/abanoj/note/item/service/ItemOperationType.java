@@ -0,0 +1,5 @@
+package com.abanoj.note.item.service;
+
+public enum ItemOperationType {
+    CREATE, UPDATE, DELETE
+}
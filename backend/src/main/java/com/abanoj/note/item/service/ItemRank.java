@@ -0,0 +1,82 @@
+package com.abanoj.note.item.service;
+
+/**
+ * Lexicographic ranks that order the items of a checklist. A rank is read as a base-36 fraction, so a
+ * new rank strictly between any two others always exists and moving an item rewrites only that item.
+ * Ranks never end in the zero digit, otherwise nothing could be placed right before them.
+ */
+public final class ItemRank {
+
+    public static final int MAX_LENGTH = 128;
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int HEAD_LENGTH = 12;
+    private static final long HEAD_LIMIT = pow(BASE, HEAD_LENGTH);
+    private static final long STEP = (long) BASE * BASE;
+    private static final char MIDDLE = 'i';
+
+    private ItemRank() {
+    }
+
+    /** Rank of the item at {@code position} in a freshly rebalanced checklist. */
+    public static String spaced(int position) {
+        return head((position + 1L) * STEP) + MIDDLE;
+    }
+
+    /**
+     * Returns a rank that sorts after {@code lower} and before {@code upper}; either bound may be
+     * {@code null} for the start or the end of the checklist.
+     */
+    public static String between(String lower, String upper) {
+        if (upper == null) return after(lower);
+        String from = lower == null ? "" : lower;
+        if (from.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank " + lower + " does not sort before " + upper);
+        }
+        return midpoint(from, upper);
+    }
+
+    // Appending steps the fixed-width head instead of halving the gap to the end, so adding items to
+    // the bottom of a list keeps ranks at a constant length.
+    private static String after(String lower) {
+        if (lower == null) return spaced(0);
+        if (lower.length() >= HEAD_LENGTH) {
+            long head = Long.parseLong(lower.substring(0, HEAD_LENGTH), BASE);
+            if (head < HEAD_LIMIT - STEP) return head(head + STEP) + MIDDLE;
+        }
+        return midpoint(lower, null);
+    }
+
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int n = 0;
+            while (n < b.length() && digitAt(a, n) == b.charAt(n)) n++;
+            if (n > 0) return b.substring(0, n) + midpoint(a.substring(Math.min(n, a.length())), b.substring(n));
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b == null ? BASE : DIGITS.indexOf(b.charAt(0));
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static char digitAt(String rank, int index) {
+        return index < rank.length() ? rank.charAt(index) : DIGITS.charAt(0);
+    }
+
+    private static String head(long value) {
+        String digits = Long.toString(value, BASE);
+        return "0".repeat(HEAD_LENGTH - digits.length()) + digits;
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) result *= base;
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.abanoj.note.item.service;
+
+import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rewrites the item ranks of checklists whose ranks grew long after many moves into the same gap,
+ * spreading them evenly again. Runs nightly and on demand when a move cannot find a usable rank.
+ */
+@Slf4j
+@Component
+public class ItemRankRebalancer {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxKeyLength;
+    private final int chunkSize;
+    private final Counter rebalancedChecklists;
+
+    public ItemRankRebalancer(ItemRepository itemRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.item.rank-rebalance.max-key-length:32}") int maxKeyLength,
+                              @Value("${application.item.rank-rebalance.chunk-size:100}") int chunkSize) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxKeyLength = maxKeyLength;
+        this.chunkSize = chunkSize;
+        this.rebalancedChecklists = meterRegistry.counter("items.ranks.rebalanced");
+    }
+
+    @Scheduled(cron = "${application.item.rank-rebalance.cron:0 45 3 * * *}")
+    public void rebalanceLongRanks() {
+        long rebalanced = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> checklistIds = itemRepository.findChecklistIdsWithSortKeysLongerThan(maxKeyLength, afterId, PageRequest.of(0, chunkSize));
+            if (checklistIds.isEmpty()) break;
+            for (Long checklistId : checklistIds) {
+                transactionTemplate.executeWithoutResult(status -> rebalance(checklistId));
+                rebalanced++;
+            }
+            afterId = checklistIds.get(checklistIds.size() - 1);
+            if (checklistIds.size() < chunkSize) break;
+        }
+        if (rebalanced > 0) {
+            log.info("Rebalanced item ranks of {} checklists", rebalanced);
+        }
+    }
+
+    /**
+     * Assigns evenly spaced ranks to every item of the checklist, keeping their current order. Must run
+     * inside a transaction; the changes are flushed as batched updates.
+     */
+    public void rebalance(Long checklistId) {
+        List<Item> items = itemRepository.findByChecklistId(checklistId);
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setSortKey(ItemRank.spaced(i));
+        }
+        rebalancedChecklists.increment();
+        log.debug("Rebalanced ranks of {} items in checklist {}", items.size(), checklistId);
+    }
+}
@@ -8,6 +8,9 @@ public interface ItemService {
     Item findItem(Long checklistId, Long id);
     List<Item> findAllItems(Long checklistId);
     Item createItem(Long checklistId, Item item);
-    Item updateItem(Long checklistId, Long id, Item item);
+    Item updateItem(Long checklistId, Long id, Item item, Long expectedVersion);
     void deleteItem(Long checklistId, Long id);
+    List<ItemOperationResult> applyBatch(Long checklistId, List<ItemOperation> operations);
+    int bulkUpdateItems(Long checklistId, ItemBulkUpdate bulkUpdate);
+    void moveItem(Long checklistId, Long id, Long afterId, Long beforeId);
 }
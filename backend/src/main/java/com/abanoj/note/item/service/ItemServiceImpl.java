@@ -2,19 +2,30 @@ package com.abanoj.note.item.service;
 
 import com.abanoj.note.auth.SecurityUtils;
 import com.abanoj.note.checklist.entity.Checklist;
+import com.abanoj.note.concurrency.VersionConflicts;
 import com.abanoj.note.exception.ResourceNotFoundException;
 import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
 import com.abanoj.note.item.repository.ItemRepository;
 import com.abanoj.note.checklist.repository.ChecklistRepository;
-import com.abanoj.note.user.User;
+import com.abanoj.note.checklist.service.ChecklistOwnershipCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,6 +35,9 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final ChecklistRepository checklistRepository;
     private final SecurityUtils securityUtils;
+    private final ChecklistOwnershipCache checklistOwnershipCache;
+    private final ItemRankRebalancer itemRankRebalancer;
+    private final VersionConflicts versionConflicts;
 
     @Override
     public Item findItem(Long checklistId, Long id) {
@@ -42,7 +56,8 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public Item createItem(Long checklistId, Item item) {
-        Checklist checklist = checkUserOwner(checklistId);
+        checkUserOwner(checklistId);
+        Checklist checklist = checklistRepository.getReferenceById(checklistId);
         LocalDateTime now = LocalDateTime.now();
 
         Item itemToSave = new Item(
@@ -55,14 +70,17 @@ public class ItemServiceImpl implements ItemService {
                 now
         );
 
+        itemToSave.setSortKey(ItemRank.between(itemRepository.findMaxSortKey(checklistId).orElse(null), null));
+
         Item savedItem = itemRepository.save(itemToSave);
+        checklistRepository.adjustItemCounters(checklistId, 1, doneCount(savedItem.getItemStatus()));
         log.debug("Item created with id {} in checklist {}", savedItem.getId(), checklistId);
         return savedItem;
     }
 
     @Override
     @Transactional
-    public Item updateItem(Long checklistId, Long id, Item item) {
+    public Item updateItem(Long checklistId, Long id, Item item, Long expectedVersion) {
         if(item.getId() == null) throw new IllegalArgumentException("Item must have an ID");
         if(!Objects.equals(item.getId(), id)) throw new IllegalArgumentException("ID and Item id do not match!");
 
@@ -71,29 +89,202 @@ public class ItemServiceImpl implements ItemService {
         Item itemToUpdate = itemRepository
                 .findByChecklistIdAndId(checklistId, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item with id " + id + " not found!"));
+        versionConflicts.checkExpectedVersion("item", id, expectedVersion, itemToUpdate.getVersion());
 
+        int doneDelta = doneCount(item.getItemStatus()) - doneCount(itemToUpdate.getItemStatus());
+        if (doneDelta != 0) checklistRepository.adjustItemCounters(checklistId, 0, doneDelta);
+        else checklistRepository.markItemsChanged(checklistId);
         itemToUpdate.setTitle(item.getTitle());
         itemToUpdate.setItemStatus(item.getItemStatus());
         itemToUpdate.setItemPriority(item.getItemPriority());
         itemToUpdate.setUpdated(LocalDateTime.now());
-        log.debug("Item {} updated in checklist {}", id, checklistId);
-        return itemRepository.save(itemToUpdate);
+        try {
+            Item savedItem = itemRepository.saveAndFlush(itemToUpdate);
+            log.debug("Item {} updated in checklist {}", id, checklistId);
+            return savedItem;
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw versionConflicts.concurrentUpdate("item", id, ex);
+        }
     }
 
     @Override
     @Transactional
     public void deleteItem(Long checklistId, Long id) {
-        Checklist checklist = checkUserOwner(checklistId);
-        Item item = itemRepository.findByChecklistIdAndId(checklistId, id)
+        Long userId = securityUtils.getCurrentUserId();
+        ItemStatus status = itemRepository.findStatusByChecklistIdAndId(checklistId, id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item with id " + id + " not found!"));
-        checklist.getItems().remove(item);
+        if (itemRepository.deleteOwnedItem(checklistId, id, userId) == 0) {
+            throw new ResourceNotFoundException("Item with id " + id + " not found!");
+        }
+        checklistRepository.adjustItemCounters(checklistId, -1, -doneCount(status));
         log.debug("Item {} deleted from checklist {}", id, checklistId);
     }
 
-    private Checklist checkUserOwner(Long checklistId){
-        User user = securityUtils.getCurrentUser();
-        return checklistRepository
-                .findByIdAndUser(checklistId, user)
-                .orElseThrow(() -> new ResourceNotFoundException("Not found Checklist with id " + checklistId));
+    @Override
+    @Transactional
+    public List<ItemOperationResult> applyBatch(Long checklistId, List<ItemOperation> operations) {
+        for (int i = 0; i < operations.size(); i++) {
+            validateOperation(i, operations.get(i));
+        }
+        checkUserOwner(checklistId);
+
+        Set<Long> ids = operations.stream()
+                .map(ItemOperation::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> existing = ids.isEmpty() ? Map.of() : itemRepository.findByChecklistIdAndIdIn(checklistId, ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Set<Long> deletedIds = new HashSet<>();
+        Checklist checklist = checklistRepository.getReferenceById(checklistId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ItemOperationResult> results = new ArrayList<>(operations.size());
+        List<Item> toCreate = new ArrayList<>();
+        List<Item> toDelete = new ArrayList<>();
+        int itemDelta = 0;
+        int doneDelta = 0;
+        for (ItemOperation operation : operations) {
+            Item item = operation.item();
+            // Creates carry no id, and Map.of() rejects null keys.
+            Item target = operation.type() == ItemOperationType.CREATE || deletedIds.contains(operation.id())
+                    ? null : existing.get(operation.id());
+            switch (operation.type()) {
+                case CREATE -> {
+                    Item itemToSave = new Item(null, item.getTitle(), item.getItemStatus(), item.getItemPriority(), checklist, now, now);
+                    toCreate.add(itemToSave);
+                    itemDelta++;
+                    doneDelta += doneCount(itemToSave.getItemStatus());
+                    results.add(new ItemOperationResult(operation.type(), ItemOperationResult.Outcome.CREATED, null, itemToSave));
+                }
+                case UPDATE -> {
+                    if (target == null) {
+                        results.add(notFound(operation));
+                        continue;
+                    }
+                    doneDelta += doneCount(item.getItemStatus()) - doneCount(target.getItemStatus());
+                    target.setTitle(item.getTitle());
+                    target.setItemStatus(item.getItemStatus());
+                    target.setItemPriority(item.getItemPriority());
+                    target.setUpdated(now);
+                    results.add(new ItemOperationResult(operation.type(), ItemOperationResult.Outcome.UPDATED, operation.id(), target));
+                }
+                case DELETE -> {
+                    if (target == null) {
+                        results.add(notFound(operation));
+                        continue;
+                    }
+                    deletedIds.add(target.getId());
+                    toDelete.add(target);
+                    itemDelta--;
+                    doneDelta -= doneCount(target.getItemStatus());
+                    results.add(new ItemOperationResult(operation.type(), ItemOperationResult.Outcome.DELETED, operation.id(), target));
+                }
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            String rank = itemRepository.findMaxSortKey(checklistId).orElse(null);
+            for (Item created : toCreate) {
+                rank = ItemRank.between(rank, null);
+                created.setSortKey(rank);
+            }
+        }
+        itemRepository.saveAll(toCreate);
+        itemRepository.deleteAll(toDelete);
+        boolean applied = results.stream().anyMatch(result -> result.outcome() != ItemOperationResult.Outcome.NOT_FOUND);
+        if (applied) checklistRepository.adjustItemCounters(checklistId, itemDelta, doneDelta);
+        log.debug("Applied {} item operations to checklist {}", operations.size(), checklistId);
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdateItems(Long checklistId, ItemBulkUpdate bulkUpdate) {
+        if (bulkUpdate.status() == null && bulkUpdate.priority() == null) {
+            throw new IllegalArgumentException("Bulk update must set a status or a priority");
+        }
+        Long userId = securityUtils.getCurrentUserId();
+        if (!checklistOwnershipCache.isOwnedBy(checklistId, userId)) {
+            throw new ResourceNotFoundException("Not found Checklist with id " + checklistId);
+        }
+        int updated = itemRepository.bulkUpdateOwnedItems(
+                checklistId,
+                userId,
+                orAll(bulkUpdate.statuses(), ItemStatus.class),
+                orAll(bulkUpdate.priorities(), ItemPriority.class),
+                bulkUpdate.status(),
+                bulkUpdate.priority(),
+                LocalDateTime.now());
+        if (updated > 0) {
+            if (bulkUpdate.status() != null) checklistRepository.repairItemCounters(List.of(checklistId));
+            checklistRepository.markItemsChanged(checklistId);
+        }
+        log.debug("Bulk updated {} items in checklist {}", updated, checklistId);
+        return updated;
+    }
+
+    private static <E extends Enum<E>> Set<E> orAll(Set<E> values, Class<E> type) {
+        return values == null || values.isEmpty() ? EnumSet.allOf(type) : values;
+    }
+
+    @Override
+    @Transactional
+    public void moveItem(Long checklistId, Long id, Long afterId, Long beforeId) {
+        if (afterId == null && beforeId == null) throw new IllegalArgumentException("Move needs an afterId or a beforeId");
+        if (id.equals(afterId) || id.equals(beforeId)) throw new IllegalArgumentException("An item cannot be moved next to itself");
+        checkUserOwner(checklistId);
+
+        String sortKey = rankForMove(checklistId, id, afterId, beforeId);
+        if (sortKey == null) {
+            itemRankRebalancer.rebalance(checklistId);
+            sortKey = rankForMove(checklistId, id, afterId, beforeId);
+            if (sortKey == null) throw new IllegalArgumentException("Item " + afterId + " does not come before item " + beforeId);
+        }
+        if (itemRepository.updateSortKey(checklistId, id, sortKey, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Item with id " + id + " not found!");
+        }
+        checklistRepository.markItemsChanged(checklistId);
+        log.debug("Item {} moved in checklist {}", id, checklistId);
+    }
+
+    // Returns null when the neighbours leave no usable rank: they share one or the gap is used up.
+    private String rankForMove(Long checklistId, Long id, Long afterId, Long beforeId) {
+        String lower = afterId != null ? neighbourRank(checklistId, afterId) : null;
+        String upper = beforeId != null ? neighbourRank(checklistId, beforeId) : null;
+        if (afterId == null) lower = itemRepository.findPreviousSortKey(checklistId, upper, id).orElse(null);
+        if (beforeId == null) upper = itemRepository.findNextSortKey(checklistId, lower, id).orElse(null);
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) return null;
+        String rank = ItemRank.between(lower, upper);
+        return rank.length() <= ItemRank.MAX_LENGTH ? rank : null;
+    }
+
+    private String neighbourRank(Long checklistId, Long neighbourId) {
+        return itemRepository.findSortKey(checklistId, neighbourId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item with id " + neighbourId + " not found!"));
+    }
+
+    private static void validateOperation(int index, ItemOperation operation) {
+        if (operation.type() != ItemOperationType.CREATE && operation.id() == null) {
+            throw new IllegalArgumentException("Operation " + index + " must have an item ID");
+        }
+        if (operation.type() != ItemOperationType.DELETE
+                && (operation.item().getTitle() == null || operation.item().getTitle().isBlank())) {
+            throw new IllegalArgumentException("Operation " + index + " must have a title");
+        }
+    }
+
+    private static ItemOperationResult notFound(ItemOperation operation) {
+        return new ItemOperationResult(operation.type(), ItemOperationResult.Outcome.NOT_FOUND, operation.id(), null);
+    }
+
+    private static int doneCount(ItemStatus status) {
+        return status == ItemStatus.DONE ? 1 : 0;
+    }
+
+    private void checkUserOwner(Long checklistId){
+        Long userId = securityUtils.getCurrentUserId();
+        if (!checklistOwnershipCache.isOwnedBy(checklistId, userId)) {
+            throw new ResourceNotFoundException("Not found Checklist with id " + checklistId);
+        }
     }
 }
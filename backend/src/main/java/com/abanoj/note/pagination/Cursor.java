@@ -0,0 +1,31 @@
+package com.abanoj.note.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by {@code updated DESC, id DESC}.
+ * Clients receive it as an opaque string and send it back unchanged.
+ */
+public record Cursor(LocalDateTime updated, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = updated + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor");
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.abanoj.note.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        @Schema(description = "Rows of this page")
+        List<T> content,
+        @Schema(description = "Cursor of the next page, absent on the last page", example = "MjAyNi0wMS0wMVQxMDowMHwxMg")
+        String nextCursor
+) {
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Queries fetch one row more than requested; its presence tells whether a next page exists.
+     */
+    public static int fetchSize(int size) {
+        return limit(size) + 1;
+    }
+
+    public static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        int limit = limit(size);
+        boolean hasNext = rows.size() > limit;
+        return of(hasNext ? rows.subList(0, limit) : rows, hasNext, cursorOf);
+    }
+
+    public static <T> CursorPage<T> of(List<T> content, boolean hasNext, Function<T, Cursor> cursorOf) {
+        if (!hasNext || content.isEmpty()) return new CursorPage<>(List.copyOf(content), null);
+        return new CursorPage<>(List.copyOf(content), cursorOf.apply(content.get(content.size() - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,83 @@
+package com.abanoj.note.pagination;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves {@link Pageable} parameters through Spring Data and then enforces the page size cap and
+ * the {@link SortableFields} whitelist of the parameter.
+ */
+@Slf4j
+public class GuardedPageableResolver implements HandlerMethodArgumentResolver {
+
+    private static final String SIZE_PARAMETER = "size";
+
+    private final PageableHandlerMethodArgumentResolver delegate;
+    private final int maxPageSize;
+    private final boolean rejectUnknownSort;
+    private final Counter clampedSizes;
+    private final Counter replacedSorts;
+
+    public GuardedPageableResolver(PageableHandlerMethodArgumentResolver delegate,
+                                   MeterRegistry meterRegistry,
+                                   int maxPageSize,
+                                   boolean rejectUnknownSort) {
+        this.delegate = delegate;
+        this.maxPageSize = maxPageSize;
+        this.rejectUnknownSort = rejectUnknownSort;
+        this.clampedSizes = meterRegistry.counter("pagination.requests.clamped", "reason", "size");
+        this.replacedSorts = meterRegistry.counter("pagination.requests.clamped", "reason", "sort");
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Pageable resolveArgument(MethodParameter parameter,
+                                    ModelAndViewContainer mavContainer,
+                                    NativeWebRequest webRequest,
+                                    WebDataBinderFactory binderFactory) {
+        if (requestedSize(webRequest) > maxPageSize) clampedSizes.increment();
+        Pageable pageable = delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        SortableFields sortable = parameter.getParameterAnnotation(SortableFields.class);
+        if (sortable == null || pageable.getSort().isUnsorted()) return pageable;
+
+        Set<String> allowed = Set.of(sortable.value());
+        List<String> unknown = pageable.getSort().stream()
+                .map(Sort.Order::getProperty)
+                .filter(property -> !allowed.contains(property))
+                .toList();
+        if (unknown.isEmpty()) return pageable;
+        if (rejectUnknownSort) {
+            throw new IllegalArgumentException("Cannot sort by " + String.join(", ", unknown) + ". Allowed: " + String.join(", ", sortable.value()));
+        }
+        replacedSorts.increment();
+        log.debug("Replacing sort by {} with {}", unknown, sortable.fallback());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, sortable.fallback()));
+    }
+
+    private long requestedSize(NativeWebRequest webRequest) {
+        String size = webRequest.getParameter(SIZE_PARAMETER);
+        if (size == null) return 0;
+        try {
+            return Long.parseLong(size.trim());
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
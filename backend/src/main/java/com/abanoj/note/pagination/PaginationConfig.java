@@ -0,0 +1,44 @@
+package com.abanoj.note.pagination;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.config.PageableHandlerMethodArgumentResolverCustomizer;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Ordered first so the guarded resolver is consulted before the one registered by Spring Data.
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PaginationConfig implements WebMvcConfigurer {
+
+    private final PageableHandlerMethodArgumentResolver pageableResolver;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    @Value("${application.pagination.max-page-size:100}")
+    private int maxPageSize;
+    @Value("${application.pagination.reject-unknown-sort:true}")
+    private boolean rejectUnknownSort;
+
+    // Static so that customizing the resolver does not depend on this configurer, which needs the resolver.
+    @Bean
+    public static PageableHandlerMethodArgumentResolverCustomizer pageableMaxSizeCustomizer(
+            @Value("${application.pagination.max-page-size:100}") int maxPageSize) {
+        return resolver -> resolver.setMaxPageSize(maxPageSize);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(0, new GuardedPageableResolver(pageableResolver,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), maxPageSize, rejectUnknownSort));
+    }
+}
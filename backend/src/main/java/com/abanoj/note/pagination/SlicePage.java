@@ -0,0 +1,23 @@
+package com.abanoj.note.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record SlicePage<T>(
+        @Schema(description = "Rows of this page")
+        List<T> content,
+        @Schema(description = "Zero-based page number", example = "0")
+        int number,
+        @Schema(description = "Requested page size", example = "10")
+        int size,
+        @Schema(description = "Whether a next page exists")
+        boolean hasNext,
+        @Schema(description = "Approximate total number of rows, only when requested", example = "42")
+        Long totalElements
+) {
+    public static <T> SlicePage<T> of(Slice<T> slice, Long totalElements) {
+        return new SlicePage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), totalElements);
+    }
+}
@@ -0,0 +1,24 @@
+package com.abanoj.note.pagination;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sort keys a {@link org.springframework.data.domain.Pageable} parameter accepts. Each key has to be
+ * backed by an index together with the owner column, otherwise listings fall back to a filesort.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SortableFields {
+
+    String[] value();
+
+    /**
+     * Property sorted on, descending, in place of unknown keys when they are not rejected.
+     */
+    String fallback() default "updated";
+}
@@ -0,0 +1,35 @@
+package com.abanoj.note.pagination;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Per-user row count used as an optional total for slice listings. Once a value is older than the
+ * refresh interval the next read still returns it while a new count runs in the background, so
+ * list requests never wait on a COUNT query after the first one.
+ */
+public abstract class UserCountCache {
+
+    private final LoadingCache<Long, Long> counts;
+
+    protected UserCountCache(Function<Long, Long> counter, long refreshSeconds, long maxSize) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .build(counter::apply);
+    }
+
+    public long get(Long userId) {
+        return counts.get(userId);
+    }
+
+    /**
+     * Applies a known change to a cached count; users without a cached count are left alone.
+     */
+    public void adjust(Long userId, long delta) {
+        counts.asMap().computeIfPresent(userId, (key, count) -> Math.max(0L, count + delta));
+    }
+}
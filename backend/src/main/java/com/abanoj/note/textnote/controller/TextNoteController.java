@@ -1,5 +1,10 @@
 package com.abanoj.note.textnote.controller;
 
+import com.abanoj.note.concurrency.ETags;
+import com.abanoj.note.exception.VersionConflictException;
+import com.abanoj.note.pagination.CursorPage;
+import com.abanoj.note.pagination.SlicePage;
+import com.abanoj.note.pagination.SortableFields;
 import com.abanoj.note.textnote.dto.TextNoteCreateRequestDto;
 import com.abanoj.note.textnote.dto.TextNoteResponseDto;
 import com.abanoj.note.textnote.dto.TextNoteUpdateRequestDto;
@@ -12,8 +17,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,36 +37,73 @@ public class TextNoteController {
     @GetMapping
     @Operation(summary = "Get all text notes for the authenticated user")
     public ResponseEntity<Page<TextNoteResponseDto>> getAllTextNote(
-            @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable){
+            @SortableFields({"updated", "title"}) @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable){
         Page<TextNoteResponseDto> pageOfTextNoteResponseDto = textNoteService
                 .findAllTextNote(pageable)
                 .map(textNoteMapper::toTextNoteResponseDto);
         return ResponseEntity.ok(pageOfTextNoteResponseDto);
     }
 
+    @GetMapping("/slice")
+    @Operation(summary = "Get all text notes for the authenticated user without counting them on every request")
+    public ResponseEntity<SlicePage<TextNoteResponseDto>> getSlice(
+            @SortableFields({"updated", "title"}) @PageableDefault(size = 10, sort = "updated", direction = Sort.Direction.DESC) Pageable pageable,
+            @Parameter(description = "Include an approximate, periodically refreshed total") @RequestParam(defaultValue = "false") boolean includeTotal){
+        Slice<TextNoteResponseDto> slice = textNoteService.findAllTextNoteSlice(pageable)
+                .map(textNoteMapper::toTextNoteResponseDto);
+        return ResponseEntity.ok(SlicePage.of(slice, includeTotal ? textNoteService.countTextNotes() : null));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get text notes of the authenticated user page by page using a cursor, most recently updated first")
+    public ResponseEntity<CursorPage<TextNoteResponseDto>> scroll(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + CursorPage.MAX_SIZE) @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size){
+        return ResponseEntity.ok(textNoteService.scrollTextNotes(cursor, size).map(textNoteMapper::toTextNoteResponseDto));
+    }
+
     @GetMapping("/{textNoteId}")
     @Operation(summary = "Get a text note by ID")
-    public ResponseEntity<TextNoteResponseDto> getTextNote(@Parameter(description = "Text note ID") @PathVariable("textNoteId") Long id){
+    public ResponseEntity<TextNoteResponseDto> getTextNote(
+            @Parameter(description = "Text note ID") @PathVariable("textNoteId") Long id,
+            @Parameter(description = "ETag of the cached text note") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // Revalidation only reads the version column, the content is loaded when the note actually changed.
+        if (ifNoneMatch != null) {
+            Long version = textNoteService.findTextNoteVersion(id);
+            if (ETags.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+            }
+        }
         TextNote textNote = textNoteService.findTextNoteById(id);
-        return ResponseEntity.ok(textNoteMapper.toTextNoteResponseDto(textNote));
+        return ResponseEntity.ok().eTag(ETags.of(textNote.getVersion())).body(textNoteMapper.toTextNoteResponseDto(textNote));
     }
 
     @PostMapping
     @Operation(summary = "Create a new text note")
     public ResponseEntity<TextNoteResponseDto> createTextNote(@Valid @RequestBody TextNoteCreateRequestDto textNoteCreateRequestDto){
         TextNote textNote = textNoteMapper.toTextNote(textNoteCreateRequestDto);
-        TextNoteResponseDto textNoteResponseDto = textNoteMapper.toTextNoteResponseDto(textNoteService.createTextNote(textNote));
-        return ResponseEntity.status(HttpStatus.CREATED).body(textNoteResponseDto);
+        TextNote savedTextNote = textNoteService.createTextNote(textNote);
+        TextNoteResponseDto textNoteResponseDto = textNoteMapper.toTextNoteResponseDto(savedTextNote);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(savedTextNote.getVersion())).body(textNoteResponseDto);
     }
 
     @PutMapping("/{textNoteId}")
     @Operation(summary = "Update an existing text note")
     public ResponseEntity<TextNoteResponseDto> updateTextNote(
             @Parameter(description = "Text note ID") @PathVariable("textNoteId") Long id,
+            @Parameter(description = "ETag of the version being updated") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TextNoteUpdateRequestDto textNoteUpdateRequestDto){
         TextNote textNote = textNoteMapper.toTextNote(textNoteUpdateRequestDto);
-        TextNoteResponseDto textNoteResponseDto = textNoteMapper.toTextNoteResponseDto(textNoteService.updateTextNote(id, textNote));
-        return ResponseEntity.ok(textNoteResponseDto);
+        TextNote textNoteUpdated;
+        try {
+            textNoteUpdated = textNoteService.updateTextNote(id, textNote, ETags.parseIfMatch(ifMatch));
+        } catch (VersionConflictException ex) {
+            TextNote current = textNoteService.findTextNoteById(id);
+            return ResponseEntity.status(ex.getReason().getStatus())
+                    .eTag(ETags.of(current.getVersion()))
+                    .body(textNoteMapper.toTextNoteResponseDto(current));
+        }
+        return ResponseEntity.ok().eTag(ETags.of(textNoteUpdated.getVersion())).body(textNoteMapper.toTextNoteResponseDto(textNoteUpdated));
     }
 
 
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "notes")
 public class TextNote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notes_id")
+    @TableGenerator(name = "notes_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "notes", allocationSize = 50)
     @Column(updatable = false, nullable = false)
     private Long id;
     @Column(nullable = false)
@@ -26,6 +27,9 @@ public class TextNote {
     private LocalDateTime created;
     @Column(nullable = false)
     private LocalDateTime updated;
+    @Version
+    @Column(nullable = false)
+    private Long version;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
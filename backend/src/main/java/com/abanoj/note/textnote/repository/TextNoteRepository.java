@@ -1,16 +1,34 @@
 package com.abanoj.note.textnote.repository;
 
 import com.abanoj.note.textnote.entity.TextNote;
-import com.abanoj.note.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TextNoteRepository extends JpaRepository<TextNote, Long> {
-    Page<TextNote> findAllByUser(User user, Pageable Page);
-    Optional<TextNote> findByIdAndUser(Long textNoteId, User user);
+    Page<TextNote> findAllByUserId(Long userId, Pageable Page);
+    Slice<TextNote> findSliceByUserId(Long userId, Pageable pageable);
+    long countByUserId(Long userId);
+    Optional<TextNote> findByIdAndUserId(Long textNoteId, Long userId);
+    @Query("SELECT tn.version FROM TextNote tn WHERE tn.id = :id AND tn.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long textNoteId, @Param("userId") Long userId);
+    @Query("SELECT tn FROM TextNote tn WHERE tn.user.id = :userId ORDER BY tn.updated DESC, tn.id DESC")
+    List<TextNote> findFirstByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query("""
+            SELECT tn FROM TextNote tn
+            WHERE tn.user.id = :userId AND (tn.updated < :updated OR (tn.updated = :updated AND tn.id < :id))
+            ORDER BY tn.updated DESC, tn.id DESC""")
+    List<TextNote> findByUserIdAfter(@Param("userId") Long userId,
+                                     @Param("updated") LocalDateTime updated,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
 }
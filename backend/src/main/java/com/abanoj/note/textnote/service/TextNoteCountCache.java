@@ -0,0 +1,16 @@
+package com.abanoj.note.textnote.service;
+
+import com.abanoj.note.pagination.UserCountCache;
+import com.abanoj.note.textnote.repository.TextNoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TextNoteCountCache extends UserCountCache {
+
+    public TextNoteCountCache(TextNoteRepository textNoteRepository,
+                              @Value("${application.pagination.count-cache.refresh-seconds:30}") long refreshSeconds,
+                              @Value("${application.pagination.count-cache.max-size:10000}") long maxSize) {
+        super(textNoteRepository::countByUserId, refreshSeconds, maxSize);
+    }
+}
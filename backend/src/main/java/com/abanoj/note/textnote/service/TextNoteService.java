@@ -1,15 +1,21 @@
 package com.abanoj.note.textnote.service;
 
+import com.abanoj.note.pagination.CursorPage;
 import com.abanoj.note.textnote.entity.TextNote;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface TextNoteService {
     Page<TextNote> findAllTextNote(Pageable pageable);
+    Slice<TextNote> findAllTextNoteSlice(Pageable pageable);
+    long countTextNotes();
+    CursorPage<TextNote> scrollTextNotes(String cursor, int size);
     TextNote findTextNoteById(Long textNoteId);
+    Long findTextNoteVersion(Long textNoteId);
     TextNote createTextNote(TextNote textNote);
-    TextNote updateTextNote(Long textNoteId, TextNote textNote);
+    TextNote updateTextNote(Long textNoteId, TextNote textNote, Long expectedVersion);
     void deleteTextNote(Long textNoteId);
 }
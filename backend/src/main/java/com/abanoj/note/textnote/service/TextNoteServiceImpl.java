@@ -1,18 +1,25 @@
 package com.abanoj.note.textnote.service;
 
 import com.abanoj.note.auth.SecurityUtils;
+import com.abanoj.note.concurrency.VersionConflicts;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.pagination.Cursor;
+import com.abanoj.note.pagination.CursorPage;
 import com.abanoj.note.textnote.entity.TextNote;
 import com.abanoj.note.textnote.repository.TextNoteRepository;
-import com.abanoj.note.user.User;
+import com.abanoj.note.user.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Slf4j
@@ -22,63 +29,107 @@ public class TextNoteServiceImpl implements TextNoteService {
 
     private final TextNoteRepository textNoteRepository;
     private final SecurityUtils securityUtils;
+    private final UserRepository userRepository;
+    private final TextNoteCountCache textNoteCountCache;
+    private final VersionConflicts versionConflicts;
 
     @Override
     public Page<TextNote> findAllTextNote(Pageable pageable) {
-        User user = securityUtils.getCurrentUser();
-        return textNoteRepository.findAllByUser(user, pageable);
+        Long userId = securityUtils.getCurrentUserId();
+        return textNoteRepository.findAllByUserId(userId, pageable);
+    }
+
+    @Override
+    public Slice<TextNote> findAllTextNoteSlice(Pageable pageable) {
+        Long userId = securityUtils.getCurrentUserId();
+        return textNoteRepository.findSliceByUserId(userId, pageable);
+    }
+
+    @Override
+    public long countTextNotes() {
+        return textNoteCountCache.get(securityUtils.getCurrentUserId());
+    }
+
+    @Override
+    public CursorPage<TextNote> scrollTextNotes(String cursor, int size) {
+        Long userId = securityUtils.getCurrentUserId();
+        PageRequest fetch = PageRequest.of(0, CursorPage.fetchSize(size));
+        List<TextNote> textNotes;
+        if (cursor == null) {
+            textNotes = textNoteRepository.findFirstByUserId(userId, fetch);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            textNotes = textNoteRepository.findByUserIdAfter(userId, after.updated(), after.id(), fetch);
+        }
+        return CursorPage.of(textNotes, size, textNote -> new Cursor(textNote.getUpdated(), textNote.getId()));
     }
 
     @Override
     public TextNote findTextNoteById(Long textNoteId) {
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
+        return textNoteRepository
+                .findByIdAndUserId(textNoteId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Text note with id " + textNoteId + " not found!"));
+    }
+
+    @Override
+    public Long findTextNoteVersion(Long textNoteId) {
+        Long userId = securityUtils.getCurrentUserId();
         return textNoteRepository
-                .findByIdAndUser(textNoteId, user)
+                .findVersionByIdAndUserId(textNoteId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Text note with id " + textNoteId + " not found!"));
     }
 
     @Override
     @Transactional
     public TextNote createTextNote(TextNote textNote) {
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
         if(textNote.getId() != null) throw new IllegalArgumentException("Text note already has and ID!");
         LocalDateTime now = LocalDateTime.now();
-        textNote.setUser(user);
+        textNote.setUser(userRepository.getReferenceById(userId));
         textNote.setCreated(now);
         textNote.setUpdated(now);
         TextNote savedTextNote = textNoteRepository.save(textNote);
+        textNoteCountCache.adjust(userId, 1);
         log.debug("TextNote created with id {}", savedTextNote.getId());
         return savedTextNote;
     }
 
     @Override
     @Transactional
-    public TextNote updateTextNote(Long textNoteId, TextNote textNote) {
-        User user = securityUtils.getCurrentUser();
+    public TextNote updateTextNote(Long textNoteId, TextNote textNote, Long expectedVersion) {
+        Long userId = securityUtils.getCurrentUserId();
         if(textNote.getId() == null) throw new IllegalArgumentException("TextNote must have an ID");
         if(!Objects.equals(textNote.getId(), textNoteId)) throw new IllegalArgumentException("Id and TextNote id do not match");
 
         TextNote textNoteToUpdate = textNoteRepository
-                .findByIdAndUser(textNoteId, user)
+                .findByIdAndUserId(textNoteId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("TextNote with id " + textNoteId + " not found!"));
+        versionConflicts.checkExpectedVersion("note", textNoteId, expectedVersion, textNoteToUpdate.getVersion());
 
         textNoteToUpdate.setTitle(textNote.getTitle());
         textNoteToUpdate.setContent(textNote.getContent());
         textNoteToUpdate.setUpdated(LocalDateTime.now());
 
-        log.debug("TextNote {} updated", textNoteId);
-        return textNoteRepository.save(textNoteToUpdate);
+        try {
+            TextNote savedTextNote = textNoteRepository.saveAndFlush(textNoteToUpdate);
+            log.debug("TextNote {} updated", textNoteId);
+            return savedTextNote;
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw versionConflicts.concurrentUpdate("note", textNoteId, ex);
+        }
 
     }
 
     @Override
     @Transactional
     public void deleteTextNote(Long textNoteId) {
-        User user = securityUtils.getCurrentUser();
+        Long userId = securityUtils.getCurrentUserId();
         TextNote textNote = textNoteRepository
-                .findByIdAndUser(textNoteId, user)
+                .findByIdAndUserId(textNoteId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Text note with id " + textNoteId + " not found!"));
         textNoteRepository.delete(textNote);
+        textNoteCountCache.adjust(userId, -1);
         log.debug("Text note {} delete", textNoteId);
 
     }
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Objects;
 
 @Setter
@@ -15,15 +16,18 @@ import java.util.Objects;
 @Entity
 public class Token {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "token_id")
+    @TableGenerator(name = "token_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "token", allocationSize = 50)
     private Long id;
-    @Column(unique = true, columnDefinition = "TEXT")
+    @Column(columnDefinition = "TEXT")
     private String token;
+    @Column(name = "token_hash", unique = true, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
     @Enumerated(EnumType.STRING)
     private TokenType tokenType;
     private boolean revoked;
     private LocalDateTime expiresAt;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -31,11 +35,11 @@ public class Token {
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Token token1 = (Token) o;
-        return Objects.equals(id, token1.id) && Objects.equals(token, token1.token);
+        return Objects.equals(id, token1.id) && Arrays.equals(tokenHash, token1.tokenHash);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, token);
+        return Objects.hash(id, Arrays.hashCode(tokenHash));
     }
 }
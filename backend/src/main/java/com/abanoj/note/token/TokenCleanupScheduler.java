@@ -1,24 +1,119 @@
 package com.abanoj.note.token;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Continuously purges expired and revoked tokens in small primary-key ordered chunks, each in its
+ * own short transaction, so no run holds locks on a large part of the table.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class TokenCleanupScheduler {
 
     private final TokenRepository tokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long maxRowsPerSecond;
+    private final long maxLiveTokensPerUser;
 
-    @Scheduled(cron = "0 0 3 * * *")
-    @Transactional
+    private final Counter deletedTokens;
+    private final Counter cappedTokens;
+    private final Timer runTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public TokenCleanupScheduler(TokenRepository tokenRepository,
+                                 TokenRevocationCache tokenRevocationCache,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${application.security.token-cleanup.chunk-size:1000}") int chunkSize,
+                                 @Value("${application.security.token-cleanup.max-chunks-per-run:50}") int maxChunksPerRun,
+                                 @Value("${application.security.token-cleanup.max-rows-per-second:5000}") long maxRowsPerSecond,
+                                 @Value("${application.security.token-cleanup.max-live-tokens-per-user:0}") long maxLiveTokensPerUser) {
+        this.tokenRepository = tokenRepository;
+        this.tokenRevocationCache = tokenRevocationCache;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxLiveTokensPerUser = maxLiveTokensPerUser;
+        this.deletedTokens = meterRegistry.counter("tokens.cleanup.deleted");
+        this.cappedTokens = meterRegistry.counter("tokens.cleanup.capped");
+        this.runTimer = meterRegistry.timer("tokens.cleanup.run");
+        Gauge.builder("tokens.cleanup.lag.seconds", lagSeconds, AtomicLong::get)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.token-cleanup.fixed-delay:60000}")
     public void cleanupExpiredTokens() {
-        int deletedCount = tokenRepository.deleteExpiredAndRevokedTokens(LocalDateTime.now());
-        log.info("Token cleanup completed: {} tokens deleted", deletedCount);
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = 0;
+        long afterId = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<Long> ids = tokenRepository.findPurgeableIds(afterId, now, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
+            Integer removed = transactionTemplate.execute(status -> tokenRepository.deleteAllByIdIn(ids));
+            deleted += removed != null ? removed : 0;
+            deletedTokens.increment(removed != null ? removed : 0);
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) break;
+            throttle(deleted, start);
+        }
+        long capped = enforceLiveTokenLimit(now);
+        lagSeconds.set(tokenRepository.findOldestExpiration(now)
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(Duration.ofNanos(elapsed));
+        if (deleted > 0 || capped > 0) {
+            log.info("Token cleanup: {} deleted, {} revoked over the per-user limit, {} rows/s, lag {} s",
+                    deleted, capped, deleted * 1_000_000_000L / Math.max(1L, elapsed), lagSeconds.get());
+        }
+    }
+
+    private long enforceLiveTokenLimit(LocalDateTime now) {
+        if (maxLiveTokensPerUser <= 0) return 0;
+        long revoked = 0;
+        List<Long> userIds = tokenRepository.findUsersOverLiveTokenLimit(maxLiveTokensPerUser, now, PageRequest.of(0, chunkSize));
+        for (Long userId : userIds) {
+            List<Long> liveIds = tokenRepository.findLiveTokenIdsNewestFirst(userId, now);
+            if (liveIds.size() <= maxLiveTokensPerUser) continue;
+            List<Long> excess = liveIds.subList((int) maxLiveTokensPerUser, liveIds.size());
+            Integer count = transactionTemplate.execute(status -> tokenRepository.revokeAllByIdIn(excess));
+            tokenRevocationCache.revokeTokens(userId, excess);
+            revoked += count != null ? count : 0;
+        }
+        cappedTokens.increment(revoked);
+        return revoked;
+    }
+
+    private void throttle(long deleted, long start) {
+        if (maxRowsPerSecond <= 0) return;
+        long expectedNanos = deleted * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - start);
+        if (aheadNanos <= 0) return;
+        try {
+            Thread.sleep(Duration.ofNanos(aheadNanos).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.abanoj.note.token;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenDigestBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final TokenRepository tokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.security.token.persist-raw:false}")
+    private boolean persistRawTokens;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        int migrated;
+        do {
+            migrated = transactionTemplate.execute(status -> migrateBatch());
+            total += migrated;
+        } while (migrated == BATCH_SIZE);
+        if (total > 0) log.info("Token digest backfill completed: {} tokens migrated", total);
+    }
+
+    private int migrateBatch() {
+        List<Token> tokens = tokenRepository.findTokensWithoutHash(PageRequest.of(0, BATCH_SIZE));
+        tokens.forEach(token -> {
+            token.setTokenHash(TokenDigest.sha256(token.getToken()));
+            if (!persistRawTokens) token.setToken(null);
+        });
+        tokenRepository.saveAll(tokens);
+        return tokens.size();
+    }
+}
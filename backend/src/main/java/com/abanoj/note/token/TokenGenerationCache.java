@@ -0,0 +1,66 @@
+package com.abanoj.note.token;
+
+import com.abanoj.note.config.AfterCommit;
+import com.abanoj.note.user.User;
+import com.abanoj.note.user.UserCache;
+import com.abanoj.note.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-user token generation used by stateless access tokens. Revoking every access token of a user
+ * is a single counter increment; a token is valid while its {@code gen} claim matches the counter.
+ * Other instances observe an increment once their cached value expires.
+ */
+@Slf4j
+@Component
+public class TokenGenerationCache {
+
+    private static final long UNKNOWN_USER = -1L;
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final LoadingCache<String, Long> generations;
+
+    public TokenGenerationCache(UserRepository userRepository,
+                                UserCache userCache,
+                                @Value("${application.security.token-generation-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${application.security.token-generation-cache.max-size:100000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(email -> userRepository.findTokenGenerationByEmail(email).orElse(UNKNOWN_USER));
+    }
+
+    public boolean isCurrent(String email, Long generation) {
+        if (generation == null) return false;
+        long current = generations.get(email);
+        return current != UNKNOWN_USER && current == generation;
+    }
+
+    /**
+     * Advances the generation in the caller's transaction and returns the new value as seen by that transaction.
+     * The shared caches only learn about it once the increment has committed; before that, a concurrent miss would
+     * load and cache the old generation.
+     */
+    public long increment(User user) {
+        userRepository.incrementTokenGeneration(user.getId());
+        long current = userRepository.findTokenGenerationById(user.getId())
+                .orElseThrow(() -> new IllegalStateException("User " + user.getId() + " disappeared during token revocation"));
+        String email = user.getEmail();
+        AfterCommit.run(() -> {
+            // Generations only grow, so a late or reordered callback never moves the cached value backwards.
+            generations.asMap().merge(email, current, Math::max);
+            userCache.invalidate(email);
+        });
+        log.debug("Token generation for user {} advanced to {}", user.getId(), current);
+        return current;
+    }
+}
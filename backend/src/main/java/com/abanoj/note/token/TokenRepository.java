@@ -1,10 +1,13 @@
 package com.abanoj.note.token;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +18,37 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
             """)
     List<Token> findAllValidTokensByUser(Long userId);
 
-    Optional<Token> findByToken(String token);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Token t SET t.revoked = true WHERE t.user.id = :userId AND t.revoked = false")
+    int revokeAllByUser(Long userId);
+
+    Optional<Token> findByTokenHash(byte[] tokenHash);
+
+    @Query("SELECT t FROM Token t WHERE t.tokenHash IS NULL AND t.token IS NOT NULL ORDER BY t.id")
+    List<Token> findTokensWithoutHash(Pageable pageable);
+
+    @Query("SELECT t.id FROM Token t WHERE t.id > :afterId AND (t.expiresAt < :now OR t.revoked = true) ORDER BY t.id")
+    List<Long> findPurgeableIds(Long afterId, LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT MIN(t.expiresAt) FROM Token t WHERE t.expiresAt < :now")
+    Optional<LocalDateTime> findOldestExpiration(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Query("""
+            SELECT t.user.id FROM Token t
+            WHERE t.revoked = false AND t.expiresAt > :now
+            GROUP BY t.user.id HAVING COUNT(t) > :maxLiveTokens
+            """)
+    List<Long> findUsersOverLiveTokenLimit(long maxLiveTokens, LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT t.id FROM Token t WHERE t.user.id = :userId AND t.revoked = false AND t.expiresAt > :now ORDER BY t.id DESC")
+    List<Long> findLiveTokenIdsNewestFirst(Long userId, LocalDateTime now);
 
     @Modifying
-    @Query("DELETE FROM Token t WHERE t.expiresAt < :now OR t.revoked = true")
-    int deleteExpiredAndRevokedTokens(LocalDateTime now);
+    @Query("UPDATE Token t SET t.revoked = true WHERE t.id IN :ids")
+    int revokeAllByIdIn(Collection<Long> ids);
 }
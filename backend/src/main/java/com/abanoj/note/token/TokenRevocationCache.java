@@ -0,0 +1,116 @@
+package com.abanoj.note.token;
+
+import com.abanoj.note.config.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches the revocation state of issued tokens. Writes go through {@link AfterCommit}: the cache must never hold
+ * a state the database could still roll back, and a miss reloading the row in the meantime is corrected once the
+ * deferred write lands.
+ */
+@Slf4j
+@Component
+public class TokenRevocationCache {
+
+    private final TokenRepository tokenRepository;
+    private final Cache<String, CachedToken> tokens;
+    private final Map<Long, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    public TokenRevocationCache(TokenRepository tokenRepository,
+                                @Value("${application.security.token-cache.max-size:100000}") long maxSize) {
+        this.tokenRepository = tokenRepository;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.writing((String token, CachedToken cached) -> timeToLive(cached.expiresAt())))
+                // Runs inside the eviction itself, so it cannot race a reload of the same token. Replacements keep
+                // the token and its owner, so only real evictions leave the user index.
+                .evictionListener((String token, CachedToken cached, RemovalCause cause) -> {
+                    if (token != null && cached != null && cause.wasEvicted()) unindex(cached.userId(), token);
+                })
+                .build();
+    }
+
+    public boolean isActive(String token) {
+        AtomicBoolean activeWithoutCaching = new AtomicBoolean();
+        CachedToken cached = tokens.get(token, key -> load(key, activeWithoutCaching));
+        return cached != null ? !cached.revoked() : activeWithoutCaching.get();
+    }
+
+    public void put(String rawToken, Token token) {
+        AfterCommit.run(() -> tokens.asMap().compute(rawToken, (key, previous) -> {
+            CachedToken cached = index(key, token);
+            return cached != null ? cached : previous;
+        }));
+    }
+
+    // Called under the cache's lock for this token, so concurrent misses share one lookup and one index entry.
+    private CachedToken load(String rawToken, AtomicBoolean activeWithoutCaching) {
+        Optional<Token> stored = tokenRepository.findByTokenHash(TokenDigest.sha256(rawToken));
+        stored.ifPresent(storedToken -> activeWithoutCaching.set(!storedToken.isRevoked()));
+        return stored.map(storedToken -> index(rawToken, storedToken)).orElse(null);
+    }
+
+    private CachedToken index(String rawToken, Token token) {
+        if (token.getUser() == null || token.getExpiresAt() == null) return null;
+        Long userId = token.getUser().getId();
+        tokensByUser.compute(userId, (id, userTokens) -> {
+            Set<String> result = userTokens != null ? userTokens : ConcurrentHashMap.newKeySet();
+            result.add(rawToken);
+            return result;
+        });
+        return new CachedToken(token.getId(), userId, token.isRevoked(), token.getExpiresAt());
+    }
+
+    public void revokeAllForUser(Long userId) {
+        AfterCommit.run(() -> {
+            Set<String> userTokens = tokensByUser.get(userId);
+            if (userTokens == null) return;
+            userTokens.forEach(token -> tokens.asMap().computeIfPresent(token, (key, cached) -> cached.asRevoked()));
+            log.debug("Cached tokens revoked for user {}", userId);
+        });
+    }
+
+    public void revokeTokens(Long userId, Collection<Long> tokenIds) {
+        List<Long> revokedIds = List.copyOf(tokenIds);
+        AfterCommit.run(() -> {
+            Set<String> userTokens = tokensByUser.get(userId);
+            if (userTokens == null) return;
+            userTokens.forEach(token -> tokens.asMap().computeIfPresent(token,
+                    (key, cached) -> revokedIds.contains(cached.tokenId()) ? cached.asRevoked() : cached));
+        });
+    }
+
+    private void unindex(Long userId, String token) {
+        tokensByUser.computeIfPresent(userId, (id, userTokens) -> {
+            userTokens.remove(token);
+            return userTokens.isEmpty() ? null : userTokens;
+        });
+    }
+
+    private static Duration timeToLive(LocalDateTime expiresAt) {
+        Duration ttl = Duration.between(LocalDateTime.now(), expiresAt);
+        return ttl.isNegative() ? Duration.ZERO : ttl;
+    }
+
+    private record CachedToken(Long tokenId, Long userId, boolean revoked, LocalDateTime expiresAt) {
+        CachedToken asRevoked() {
+            return new CachedToken(tokenId, userId, true, expiresAt);
+        }
+    }
+}
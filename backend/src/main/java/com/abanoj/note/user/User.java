@@ -21,7 +21,8 @@ import java.util.Objects;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;
     private String firstname;
     private String lastname;
@@ -31,6 +32,8 @@ public class User implements UserDetails {
     private String password;
     @Enumerated(EnumType.STRING)
     private Role role;
+    @Column(name = "token_generation", nullable = false)
+    private long tokenGeneration;
 
     @OneToMany(mappedBy = "user")
     private List<Token> tokens;
@@ -0,0 +1,39 @@
+package com.abanoj.note.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, time-evicted cache of users by email used to resolve the authenticated principal.
+ * Cached instances are detached entities and must be treated as read-only; anything that changes
+ * a user row has to call {@link #invalidate(String)}.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> users;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${application.security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                     @Value("${application.security.user-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(users.get(email, key -> userRepository.findByEmail(key).orElse(null)));
+    }
+
+    public void invalidate(String email) {
+        users.invalidate(email);
+    }
+}
@@ -0,0 +1,41 @@
+package com.abanoj.note.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores a re-encoded password after a successful login when the stored hash uses an outdated cost.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPasswordService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userCache.invalidate(user.getUsername());
+        log.info("Password hash upgraded for user: {}", user.getUsername());
+        return user instanceof User entity ? withPassword(entity, newPassword) : user;
+    }
+
+    // The given user may be the shared, read-only instance from UserCache, so the new hash goes on a copy.
+    private static User withPassword(User user, String password) {
+        return User.builder()
+                .id(user.getId())
+                .firstname(user.getFirstname())
+                .lastname(user.getLastname())
+                .email(user.getEmail())
+                .password(password)
+                .role(user.getRole())
+                .tokenGeneration(user.getTokenGeneration())
+                .tokens(user.getTokens())
+                .build();
+    }
+}
@@ -1,9 +1,28 @@
 package com.abanoj.note.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.tokenGeneration FROM User u WHERE u.email = :email")
+    Optional<Long> findTokenGenerationByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenGeneration = u.tokenGeneration + 1 WHERE u.id = :userId")
+    int incrementTokenGeneration(Long userId);
+
+    @Query("SELECT u.tokenGeneration FROM User u WHERE u.id = :userId")
+    Optional<Long> findTokenGenerationById(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(String email, String password);
 }
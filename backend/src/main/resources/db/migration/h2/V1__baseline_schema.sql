@@ -0,0 +1,56 @@
+-- Schema as generated by Hibernate before migrations were introduced.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    password varchar(255) not null,
+    role enum ('ADMIN','USER'),
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table checklist (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    created timestamp(6) not null,
+    updated timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_checklist_user foreign key (user_id) references users (id)
+);
+
+create table item (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    item_status enum ('DONE','IN_PROGRESS','PENDING') not null,
+    item_priority enum ('HIGH','LOW','MEDIUM') not null,
+    checklist_id bigint,
+    created timestamp(6) not null,
+    updated timestamp(6) not null,
+    primary key (id),
+    constraint fk_item_checklist foreign key (checklist_id) references checklist (id)
+);
+
+create table notes (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    content TEXT,
+    created timestamp(6) not null,
+    updated timestamp(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_notes_user foreign key (user_id) references users (id)
+);
+
+create table token (
+    id bigint generated by default as identity,
+    token TEXT,
+    token_type enum ('BEARER'),
+    revoked boolean not null,
+    expires_at timestamp(6),
+    user_id bigint,
+    primary key (id),
+    constraint fk_token_user foreign key (user_id) references users (id)
+);
@@ -0,0 +1,11 @@
+alter table users add column token_generation bigint not null default 0;
+
+alter table token add column token_hash varbinary(32);
+alter table token add constraint uk_token_token_hash unique (token_hash);
+
+alter table checklist add column item_count integer not null default 0;
+alter table checklist add column done_count integer not null default 0;
+
+update checklist cl
+set item_count = (select count(*) from item i where i.checklist_id = cl.id),
+    done_count = (select count(*) from item i where i.checklist_id = cl.id and i.item_status = 'DONE');
@@ -0,0 +1,11 @@
+create index idx_notes_user_updated_id on notes (user_id, updated, id);
+create index idx_notes_user_title on notes (user_id, title);
+
+create index idx_checklist_user_updated_id on checklist (user_id, updated, id);
+create index idx_checklist_user_title on checklist (user_id, title);
+
+create index idx_item_checklist_id on item (checklist_id, id);
+
+create index idx_token_user_revoked on token (user_id, revoked);
+create index idx_token_expires_at on token (expires_at);
+create index idx_token_revoked on token (revoked);
@@ -0,0 +1,14 @@
+-- Backs the pooled @TableGenerator of each entity. Reading next_val = n gives Hibernate the
+-- block n - 48 .. n + 1 (allocationSize 50), so seeding each segment at max(id) + 50 makes
+-- the first block start at max(id) + 2, above every existing id. The id columns keep auto_increment for rows inserted outside the app.
+create table id_generator (
+    sequence_name varchar(64) not null,
+    next_val bigint not null,
+    primary key (sequence_name)
+);
+
+insert into id_generator (sequence_name, next_val) select 'users', coalesce(max(id), 0) + 50 from users;
+insert into id_generator (sequence_name, next_val) select 'token', coalesce(max(id), 0) + 50 from token;
+insert into id_generator (sequence_name, next_val) select 'checklist', coalesce(max(id), 0) + 50 from checklist;
+insert into id_generator (sequence_name, next_val) select 'item', coalesce(max(id), 0) + 50 from item;
+insert into id_generator (sequence_name, next_val) select 'notes', coalesce(max(id), 0) + 50 from notes;
@@ -0,0 +1,7 @@
+alter table item add column sort_key varchar(128);
+
+update item set sort_key = concat(lpad(cast(id as varchar), 12, '0'), 'i');
+
+alter table item alter column sort_key set not null;
+
+create index idx_item_checklist_sort_key on item (checklist_id, sort_key);
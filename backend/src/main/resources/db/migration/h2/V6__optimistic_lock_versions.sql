@@ -0,0 +1,5 @@
+alter table checklist add column version bigint not null default 0;
+
+alter table item add column version bigint not null default 0;
+
+alter table notes add column version bigint not null default 0;
@@ -0,0 +1,57 @@
+-- Schema as generated by Hibernate before migrations were introduced.
+-- Existing databases are baselined at this version and start at V2.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    firstname varchar(255),
+    lastname varchar(255),
+    password varchar(255) not null,
+    role enum ('ADMIN','USER'),
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table checklist (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    created datetime(6) not null,
+    updated datetime(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_checklist_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table item (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    item_status enum ('DONE','IN_PROGRESS','PENDING') not null,
+    item_priority enum ('HIGH','LOW','MEDIUM') not null,
+    checklist_id bigint,
+    created datetime(6) not null,
+    updated datetime(6) not null,
+    primary key (id),
+    constraint fk_item_checklist foreign key (checklist_id) references checklist (id)
+) engine=InnoDB;
+
+create table notes (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    content TEXT,
+    created datetime(6) not null,
+    updated datetime(6) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_notes_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table token (
+    id bigint not null auto_increment,
+    token TEXT,
+    token_type enum ('BEARER'),
+    revoked bit not null,
+    expires_at datetime(6),
+    user_id bigint,
+    primary key (id),
+    constraint fk_token_user foreign key (user_id) references users (id)
+) engine=InnoDB;
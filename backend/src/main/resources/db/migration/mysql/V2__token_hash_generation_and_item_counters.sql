@@ -0,0 +1,20 @@
+alter table users
+    add column token_generation bigint not null default 0,
+    algorithm=inplace, lock=none;
+
+-- Hashes of existing rows are filled in at startup by TokenDigestBackfill.
+alter table token
+    add column token_hash varbinary(32),
+    algorithm=inplace, lock=none;
+alter table token
+    add unique index uk_token_token_hash (token_hash),
+    algorithm=inplace, lock=none;
+
+alter table checklist
+    add column item_count integer not null default 0,
+    add column done_count integer not null default 0,
+    algorithm=inplace, lock=none;
+
+update checklist cl
+set cl.item_count = (select count(*) from item i where i.checklist_id = cl.id),
+    cl.done_count = (select count(*) from item i where i.checklist_id = cl.id and i.item_status = 'DONE');
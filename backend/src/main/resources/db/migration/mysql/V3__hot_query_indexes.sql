@@ -0,0 +1,21 @@
+-- Built online so reads and writes continue while the indexes are created.
+
+alter table notes
+    add index idx_notes_user_updated_id (user_id, updated, id),
+    add index idx_notes_user_title (user_id, title),
+    algorithm=inplace, lock=none;
+
+alter table checklist
+    add index idx_checklist_user_updated_id (user_id, updated, id),
+    add index idx_checklist_user_title (user_id, title),
+    algorithm=inplace, lock=none;
+
+alter table item
+    add index idx_item_checklist_id (checklist_id, id),
+    algorithm=inplace, lock=none;
+
+alter table token
+    add index idx_token_user_revoked (user_id, revoked),
+    add index idx_token_expires_at (expires_at),
+    add index idx_token_revoked (revoked),
+    algorithm=inplace, lock=none;
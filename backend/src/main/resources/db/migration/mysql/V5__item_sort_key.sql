@@ -0,0 +1,35 @@
+-- Ranks are compared byte-wise, so the column must not use a case-insensitive collation.
+alter table item
+    add column sort_key varchar(128) character set ascii collate ascii_bin,
+    algorithm=inplace, lock=none;
+
+-- Existing items keep their insertion order: a zero-padded id plus a middle digit so that the rank
+-- does not end in zero. Filled in id ranges, each committed on its own (see the .conf next to this
+-- script), so no single statement locks or logs the whole table; a last pass catches rows inserted
+-- past the upper bound while the backfill ran.
+drop procedure if exists backfill_item_sort_key;
+
+DELIMITER //
+create procedure backfill_item_sort_key()
+begin
+    declare range_start bigint;
+    declare last_id bigint;
+    select coalesce(min(id), 0), coalesce(max(id), -1) into range_start, last_id from item;
+    while range_start <= last_id do
+        update item set sort_key = concat(lpad(id, 12, '0'), 'i')
+        where id >= range_start and id < range_start + 5000 and sort_key is null;
+        set range_start = range_start + 5000;
+    end while;
+    update item set sort_key = concat(lpad(id, 12, '0'), 'i') where sort_key is null;
+end //
+DELIMITER ;
+
+call backfill_item_sort_key();
+drop procedure backfill_item_sort_key;
+
+alter table item
+    modify sort_key varchar(128) character set ascii collate ascii_bin not null;
+
+alter table item
+    add index idx_item_checklist_sort_key (checklist_id, sort_key),
+    algorithm=inplace, lock=none;
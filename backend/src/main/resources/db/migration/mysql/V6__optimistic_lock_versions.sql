@@ -0,0 +1,11 @@
+alter table checklist
+    add column version bigint not null default 0,
+    algorithm=inplace, lock=none;
+
+alter table item
+    add column version bigint not null default 0,
+    algorithm=inplace, lock=none;
+
+alter table notes
+    add column version bigint not null default 0,
+    algorithm=inplace, lock=none;
@@ -0,0 +1,48 @@
+package com.abanoj.note;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsShouldCreateIndexesForHotQueries() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'", String.class);
+
+        assertThat(indexes).contains(
+                "idx_notes_user_updated_id",
+                "idx_checklist_user_updated_id",
+                "idx_item_checklist_id",
+                "idx_item_checklist_sort_key",
+                "idx_token_user_revoked",
+                "idx_token_expires_at");
+    }
+
+    @Test
+    void migrationsShouldBeAppliedInOrder() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class);
+
+        assertThat(versions).containsExactly("1", "2", "3", "4", "5", "6");
+    }
+
+    @Test
+    void migrationsShouldSeedIdGeneratorSegments() {
+        List<String> segments = jdbcTemplate.queryForList("SELECT sequence_name FROM id_generator", String.class);
+
+        assertThat(segments).containsExactlyInAnyOrder("users", "token", "checklist", "item", "notes");
+    }
+}
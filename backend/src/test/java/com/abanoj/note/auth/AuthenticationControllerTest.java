@@ -6,7 +6,10 @@ import com.abanoj.note.auth.dto.RegisterRequest;
 import com.abanoj.note.config.JwtService;
 import com.abanoj.note.exception.AuthenticationNotFoundException;
 import com.abanoj.note.exception.GlobalExceptionHandler;
+import com.abanoj.note.exception.TooManyRequestsException;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
@@ -22,6 +25,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import jakarta.servlet.http.HttpServletRequest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,12 +46,21 @@ class AuthenticationControllerTest {
     @MockitoBean
     private AuthenticationService authenticationService;
 
+    @MockitoBean
+    private LoginThrottle loginThrottle;
+
     @MockitoBean
     private JwtService jwtService;
 
     @MockitoBean
     private TokenRepository tokenRepository;
 
+    @MockitoBean
+    private TokenRevocationCache tokenRevocationCache;
+
+    @MockitoBean
+    private TokenGenerationCache tokenGenerationCache;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -101,6 +116,21 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$.access_token").value("access-token"));
     }
 
+    @Test
+    void authenticateShouldReturn429WhenThrottled() throws Exception {
+        AuthenticationRequest request = new AuthenticationRequest("john@email.com", "password123");
+
+        doThrow(new TooManyRequestsException("Too many attempts, try again later"))
+                .when(loginThrottle).checkLogin(eq("john@email.com"), any());
+
+        mockMvc.perform(post("/api/v1/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+        verifyNoInteractions(authenticationService);
+    }
+
     @Test
     void authenticateShouldReturn400WhenInvalidEmail() throws Exception {
         AuthenticationRequest request = new AuthenticationRequest("not-an-email", "password123");
@@ -4,10 +4,14 @@ import com.abanoj.note.auth.dto.AuthenticationRequest;
 import com.abanoj.note.auth.dto.AuthenticationResponse;
 import com.abanoj.note.auth.dto.RegisterRequest;
 import com.abanoj.note.config.JwtService;
+import com.abanoj.note.config.VerifiedToken;
 import com.abanoj.note.exception.AuthenticationNotFoundException;
 import com.abanoj.note.exception.UserNotFoundException;
 import com.abanoj.note.token.Token;
+import com.abanoj.note.token.TokenDigest;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.token.TokenType;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
@@ -17,19 +21,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +55,12 @@ class AuthenticationServiceTest {
     @Mock
     private TokenRepository tokenRepository;
 
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Mock
+    private TokenGenerationCache tokenGenerationCache;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -53,8 +73,29 @@ class AuthenticationServiceTest {
     @InjectMocks
     private AuthenticationService authenticationService;
 
+    @Captor
+    private ArgumentCaptor<Iterable<Token>> tokensCaptor;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> claimsCaptor;
+
     private User user;
 
+    private VerifiedToken verifiedToken(String type) {
+        return new VerifiedToken("john@email.com", type, new Date(System.currentTimeMillis() + 60000), new Date(), null, null, null);
+    }
+
+    private List<Token> savedTokens() {
+        verify(tokenRepository).saveAll(tokensCaptor.capture());
+        List<Token> saved = new ArrayList<>();
+        tokensCaptor.getValue().forEach(saved::add);
+        return saved;
+    }
+
+    private Authentication authenticated(Object principal) {
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of());
+    }
+
     @BeforeEach
     void setUp() {
         user = User.builder()
@@ -73,7 +114,7 @@ class AuthenticationServiceTest {
 
         when(passwordEncoder.encode("password123")).thenReturn("encoded");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(jwtService.generateToken(any(User.class))).thenReturn("access-token");
+        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("access-token");
         when(jwtService.generateRefreshToken(any(User.class))).thenReturn("refresh-token");
 
         AuthenticationResponse response = authenticationService.register(request);
@@ -88,58 +129,97 @@ class AuthenticationServiceTest {
 
         when(passwordEncoder.encode("password123")).thenReturn("encoded");
         when(userRepository.save(any(User.class))).thenReturn(user);
-        when(jwtService.generateToken(any(User.class))).thenReturn("access-token");
+        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("access-token");
         when(jwtService.generateRefreshToken(any(User.class))).thenReturn("refresh-token");
 
         authenticationService.register(request);
 
-        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
-        verify(tokenRepository, times(2)).save(tokenCaptor.capture());
-        List<Token> savedTokens = tokenCaptor.getAllValues();
-        assertThat(savedTokens.get(0).getToken()).isEqualTo("access-token");
+        List<Token> savedTokens = savedTokens();
+        assertThat(savedTokens).hasSize(2);
+        assertThat(savedTokens.get(0).getTokenHash()).isEqualTo(TokenDigest.sha256("access-token"));
+        assertThat(savedTokens.get(0).getToken()).isNull();
         assertThat(savedTokens.get(0).getTokenType()).isEqualTo(TokenType.BEARER);
         assertThat(savedTokens.get(0).isRevoked()).isFalse();
-        assertThat(savedTokens.get(1).getToken()).isEqualTo("refresh-token");
+        assertThat(savedTokens.get(1).getTokenHash()).isEqualTo(TokenDigest.sha256("refresh-token"));
         assertThat(savedTokens.get(1).getTokenType()).isEqualTo(TokenType.BEARER);
         assertThat(savedTokens.get(1).isRevoked()).isFalse();
+        verify(tokenRevocationCache).put(eq("access-token"), any(Token.class));
+        verify(tokenRevocationCache).put(eq("refresh-token"), any(Token.class));
     }
 
     @Test
     void authenticateShouldReturnTokens() {
         AuthenticationRequest request = new AuthenticationRequest("john@email.com", "password123");
 
-        when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
-        when(jwtService.generateToken(user)).thenReturn("new-access-token");
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated(user));
+        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("new-access-token");
         when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh-token");
-        when(tokenRepository.findAllValidTokensByUser(1L)).thenReturn(List.of());
 
         AuthenticationResponse response = authenticationService.authenticate(request);
 
         assertThat(response.accessToken()).isEqualTo("new-access-token");
         assertThat(response.refreshToken()).isEqualTo("new-refresh-token");
-        verify(authenticationManager).authenticate(any());
+        assertThat(savedTokens()).hasSize(2);
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void authenticateShouldPutUserIdAndRoleInAccessToken() {
+        AuthenticationRequest request = new AuthenticationRequest("john@email.com", "password123");
+
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated(user));
+        when(jwtService.generateToken(claimsCaptor.capture(), eq(user))).thenReturn("new-access-token");
+        when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh-token");
+
+        authenticationService.authenticate(request);
+
+        assertThat(claimsCaptor.getValue())
+                .containsEntry(JwtService.USER_ID_CLAIM, 1L)
+                .containsEntry(JwtService.ROLE_CLAIM, "USER")
+                .doesNotContainKey(JwtService.GENERATION_CLAIM);
     }
 
     @Test
     void authenticateShouldRevokeOldTokens() {
         AuthenticationRequest request = new AuthenticationRequest("john@email.com", "password123");
-        Token oldToken = Token.builder().id(1L).token("old").revoked(false).user(user).build();
 
-        when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
-        when(jwtService.generateToken(user)).thenReturn("new-token");
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated(user));
+        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("new-token");
         when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh");
-        when(tokenRepository.findAllValidTokensByUser(1L)).thenReturn(List.of(oldToken));
 
         authenticationService.authenticate(request);
 
-        assertThat(oldToken.isRevoked()).isTrue();
-        verify(tokenRepository).saveAll(List.of(oldToken));
+        InOrder inOrder = inOrder(tokenRepository, tokenRevocationCache);
+        inOrder.verify(tokenRepository).revokeAllByUser(1L);
+        inOrder.verify(tokenRevocationCache).revokeAllForUser(1L);
+        inOrder.verify(tokenRepository).saveAll(any());
+        inOrder.verify(tokenRevocationCache, times(2)).put(any(), any());
+        verify(tokenRepository, never()).findAllValidTokensByUser(any());
+    }
+
+    @Test
+    void authenticateShouldIssueStatelessAccessTokenWithNewGeneration() {
+        ReflectionTestUtils.setField(authenticationService, "statelessAccessTokens", true);
+        AuthenticationRequest request = new AuthenticationRequest("john@email.com", "password123");
+
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated(user));
+        when(tokenGenerationCache.increment(user)).thenReturn(4L);
+        when(jwtService.generateToken(argThat(claims -> Long.valueOf(4L).equals(claims.get(JwtService.GENERATION_CLAIM))), eq(user))).thenReturn("stateless-access-token");
+        when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh-token");
+
+        AuthenticationResponse response = authenticationService.authenticate(request);
+
+        assertThat(response.accessToken()).isEqualTo("stateless-access-token");
+        List<Token> savedTokens = savedTokens();
+        assertThat(savedTokens).hasSize(1);
+        assertThat(savedTokens.get(0).getTokenHash()).isEqualTo(TokenDigest.sha256("new-refresh-token"));
     }
 
     @Test
     void authenticateShouldThrowWhenUserNotFound() {
         AuthenticationRequest request = new AuthenticationRequest("unknown@email.com", "password");
 
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated("unknown@email.com"));
         when(userRepository.findByEmail("unknown@email.com")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> authenticationService.authenticate(request))
@@ -149,23 +229,23 @@ class AuthenticationServiceTest {
     @Test
     void refreshTokenShouldReturnNewTokens() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        Token storedRefreshToken = Token.builder()
-                .id(2L).token("valid-refresh-token").revoked(false).user(user).build();
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid-refresh-token");
-        when(jwtService.extractUsername("valid-refresh-token")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("valid-refresh-token")).thenReturn("refresh");
+        VerifiedToken verifiedToken = verifiedToken("refresh");
+
+        when(jwtService.verify("valid-refresh-token")).thenReturn(verifiedToken);
         when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
-        when(tokenRepository.findByToken("valid-refresh-token")).thenReturn(Optional.of(storedRefreshToken));
-        when(jwtService.isTokenValid("valid-refresh-token", user)).thenReturn(true);
-        when(jwtService.generateToken(user)).thenReturn("new-access-token");
+        when(tokenRevocationCache.isActive("valid-refresh-token")).thenReturn(true);
+        when(jwtService.isTokenValid(verifiedToken, user)).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), eq(user))).thenReturn("new-access-token");
         when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh-token");
-        when(tokenRepository.findAllValidTokensByUser(1L)).thenReturn(List.of());
 
         AuthenticationResponse response = authenticationService.refreshToken(request);
 
         assertThat(response.accessToken()).isEqualTo("new-access-token");
         assertThat(response.refreshToken()).isEqualTo("new-refresh-token");
+        verify(tokenRepository).revokeAllByUser(1L);
+        assertThat(savedTokens()).hasSize(2);
     }
 
     @Test
@@ -183,10 +263,9 @@ class AuthenticationServiceTest {
         HttpServletRequest request = mock(HttpServletRequest.class);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer invalid-token");
-        when(jwtService.extractUsername("invalid-token")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("invalid-token")).thenReturn("refresh");
+        when(jwtService.verify("invalid-token")).thenReturn(verifiedToken("refresh"));
         when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
-        when(tokenRepository.findByToken("invalid-token")).thenReturn(Optional.empty());
+        when(tokenRevocationCache.isActive("invalid-token")).thenReturn(false);
 
         assertThatThrownBy(() -> authenticationService.refreshToken(request))
                 .isInstanceOf(AuthenticationNotFoundException.class);
@@ -197,8 +276,7 @@ class AuthenticationServiceTest {
         HttpServletRequest request = mock(HttpServletRequest.class);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer access-token");
-        when(jwtService.extractUsername("access-token")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("access-token")).thenReturn("access");
+        when(jwtService.verify("access-token")).thenReturn(verifiedToken("access"));
 
         assertThatThrownBy(() -> authenticationService.refreshToken(request))
                 .isInstanceOf(AuthenticationNotFoundException.class);
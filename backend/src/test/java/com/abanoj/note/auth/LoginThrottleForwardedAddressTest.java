@@ -0,0 +1,37 @@
+package com.abanoj.note.auth;
+
+import com.abanoj.note.auth.dto.AuthenticationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "application.security.login-throttle.address-per-minute=1")
+class LoginThrottleForwardedAddressTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private HttpStatusCode authenticateFrom(String forwardedFor, String email) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        HttpEntity<AuthenticationRequest> request = new HttpEntity<>(new AuthenticationRequest(email, "password"), headers);
+        return restTemplate.postForEntity("/api/v1/auth/authenticate", request, String.class).getStatusCode();
+    }
+
+    @Test
+    void clientsBehindTheProxyShouldGetSeparateAddressBuckets() {
+        assertThat(authenticateFrom("203.0.113.10", "first@email.com")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(authenticateFrom("203.0.113.10", "second@email.com")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(authenticateFrom("198.51.100.20", "third@email.com")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
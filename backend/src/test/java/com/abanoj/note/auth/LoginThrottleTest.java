@@ -0,0 +1,46 @@
+package com.abanoj.note.auth;
+
+import com.abanoj.note.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    @Test
+    void checkLoginShouldRejectWhenEmailBucketIsEmpty() {
+        LoginThrottle loginThrottle = new LoginThrottle(2, 100, 100);
+
+        loginThrottle.checkLogin("john@email.com", "10.0.0.1");
+        loginThrottle.checkLogin("John@Email.com", "10.0.0.2");
+
+        assertThatThrownBy(() -> loginThrottle.checkLogin("john@email.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.checkLogin("jane@email.com", "10.0.0.3"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLoginShouldRejectWhenAddressBucketIsEmpty() {
+        LoginThrottle loginThrottle = new LoginThrottle(100, 2, 100);
+
+        loginThrottle.checkLogin("a@email.com", "10.0.0.1");
+        loginThrottle.checkLogin("b@email.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> loginThrottle.checkLogin("c@email.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.checkLogin("c@email.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkRegistrationShouldShareAddressBucket() {
+        LoginThrottle loginThrottle = new LoginThrottle(100, 1, 100);
+
+        loginThrottle.checkRegistration("10.0.0.1");
+
+        assertThatThrownBy(() -> loginThrottle.checkLogin("john@email.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
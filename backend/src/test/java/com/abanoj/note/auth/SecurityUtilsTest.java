@@ -19,6 +19,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,11 +70,40 @@ class SecurityUtilsTest {
     }
 
     @Test
-    void getCurrentUserShouldReturnUserWhenFound() {
+    void getCurrentUserIdShouldReadClaimsPrincipalWithoutRepository() {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "john@email.com", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        assertThat(securityUtils.getCurrentUserId()).isEqualTo(7L);
+        assertThat(securityUtils.getCurrentUsername()).isEqualTo("john@email.com");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentUserIdShouldThrowWhenNoAuthentication() {
+        assertThatThrownBy(() -> securityUtils.getCurrentUserId())
+                .isInstanceOf(AuthenticationNotFoundException.class);
+    }
+
+    @Test
+    void getCurrentUserShouldReuseAuthenticatedPrincipal() {
         UsernamePasswordAuthenticationToken auth =
                 new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(auth);
 
+        User result = securityUtils.getCurrentUser();
+
+        assertThat(result).isSameAs(user);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getCurrentUserShouldLoadUserWhenPrincipalIsNotAUser() {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken("john@email.com", null, user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
         when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
 
         User result = securityUtils.getCurrentUser();
@@ -84,7 +114,7 @@ class SecurityUtilsTest {
     @Test
     void getCurrentUserShouldThrowWhenUserNotFound() {
         UsernamePasswordAuthenticationToken auth =
-                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                new UsernamePasswordAuthenticationToken("john@email.com", null, user.getAuthorities());
         SecurityContextHolder.getContext().setAuthentication(auth);
 
         when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.empty());
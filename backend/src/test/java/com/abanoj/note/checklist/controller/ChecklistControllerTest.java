@@ -1,15 +1,22 @@
 package com.abanoj.note.checklist.controller;
 
+import com.abanoj.note.checklist.dto.ChecklistCloneRequestDto;
 import com.abanoj.note.checklist.dto.ChecklistCreateRequestDto;
 import com.abanoj.note.checklist.dto.ChecklistResponseDto;
+import com.abanoj.note.checklist.dto.ChecklistSummaryResponseDto;
 import com.abanoj.note.checklist.dto.ChecklistUpdateRequestDto;
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.checklist.mapper.ChecklistMapper;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
 import com.abanoj.note.checklist.service.ChecklistService;
 import com.abanoj.note.config.JwtService;
 import com.abanoj.note.exception.GlobalExceptionHandler;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
+import com.abanoj.note.pagination.CursorPage;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
@@ -21,6 +28,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +37,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -56,6 +66,12 @@ class ChecklistControllerTest {
     @MockitoBean
     private TokenRepository tokenRepository;
 
+    @MockitoBean
+    private TokenRevocationCache tokenRevocationCache;
+
+    @MockitoBean
+    private TokenGenerationCache tokenGenerationCache;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -91,6 +107,85 @@ class ChecklistControllerTest {
         verify(checklistService).findAllChecklist(any(Pageable.class));
     }
 
+    @Test
+    void getSliceShouldReturnHasNextWithoutTotalByDefault() throws Exception {
+        Checklist checklist = Checklist.builder().id(1L).title("Shopping").build();
+
+        when(checklistService.findAllChecklistSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(checklist), Pageable.ofSize(1), true));
+        when(checklistMapper.toChecklistResponseDto(checklist)).thenReturn(sampleResponse);
+
+        mockMvc.perform(get("/api/v1/checklists/slice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Shopping"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(checklistService, never()).countChecklists();
+    }
+
+    @Test
+    void getSliceShouldIncludeCachedTotalWhenRequested() throws Exception {
+        when(checklistService.findAllChecklistSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(checklistService.countChecklists()).thenReturn(12L);
+
+        mockMvc.perform(get("/api/v1/checklists/slice").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(12));
+    }
+
+    @Test
+    void getAllSummariesShouldReturn200WithoutItems() throws Exception {
+        ChecklistSummary summary = new ChecklistSummary(1L, "Shopping", 2, 1);
+
+        when(checklistService.findAllChecklistSummaries(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(summary)));
+        when(checklistMapper.toChecklistSummaryResponseDto(summary)).thenReturn(new ChecklistSummaryResponseDto(1L, "Shopping", 2, 0.5));
+
+        mockMvc.perform(get("/api/v1/checklists/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].numberOfItems").value(2))
+                .andExpect(jsonPath("$.content[0].progress").value(0.5))
+                .andExpect(jsonPath("$.content[0].items").doesNotExist());
+    }
+
+    @Test
+    void scrollShouldReturn200WithNextCursor() throws Exception {
+        Checklist checklist = Checklist.builder().id(1L).title("Shopping").build();
+
+        when(checklistService.scrollChecklists("abc", 5)).thenReturn(new CursorPage<>(List.of(checklist), "next"));
+        when(checklistMapper.toChecklistResponseDto(checklist)).thenReturn(sampleResponse);
+
+        mockMvc.perform(get("/api/v1/checklists/scroll").param("cursor", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Shopping"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void scrollShouldReturn400WhenCursorInvalid() throws Exception {
+        when(checklistService.scrollChecklists("bad", 10)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/checklists/scroll").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllShouldReturn400WhenSortingByUnindexedField() throws Exception {
+        mockMvc.perform(get("/api/v1/checklists").param("sort", "user.password"))
+                .andExpect(status().isBadRequest());
+
+        verify(checklistService, never()).findAllChecklist(any(Pageable.class));
+    }
+
+    @Test
+    void getAllShouldCapPageSize() throws Exception {
+        when(checklistService.findAllChecklist(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/api/v1/checklists").param("size", "100000"))
+                .andExpect(status().isOk());
+
+        verify(checklistService).findAllChecklist(argThat(pageable -> pageable.getPageSize() == 100));
+    }
+
     @Test
     void getChecklistShouldReturn200() throws Exception {
         Checklist checklist = Checklist.builder().id(1L).title("Shopping").build();
@@ -104,6 +199,32 @@ class ChecklistControllerTest {
                 .andExpect(jsonPath("$.title").value("Shopping"));
     }
 
+    @Test
+    void getChecklistShouldReturn304WithoutLoadingItemsWhenETagMatches() throws Exception {
+        when(checklistService.findChecklistVersion(1L)).thenReturn(4L);
+
+        mockMvc.perform(get("/api/v1/checklists/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\", W/\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().string(""));
+
+        verify(checklistService, never()).findChecklist(any());
+    }
+
+    @Test
+    void getChecklistShouldReturnFullChecklistWhenETagIsStale() throws Exception {
+        Checklist checklist = Checklist.builder().id(1L).title("Shopping").version(5L).build();
+
+        when(checklistService.findChecklistVersion(1L)).thenReturn(5L);
+        when(checklistService.findChecklist(1L)).thenReturn(checklist);
+        when(checklistMapper.toChecklistResponseDto(checklist)).thenReturn(sampleResponse);
+
+        mockMvc.perform(get("/api/v1/checklists/1").header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(jsonPath("$.title").value("Shopping"));
+    }
+
     @Test
     void getChecklistShouldReturn404WhenNotFound() throws Exception {
         when(checklistService.findChecklist(99L)).thenThrow(new ResourceNotFoundException("Not found"));
@@ -147,7 +268,7 @@ class ChecklistControllerTest {
         Checklist updated = Checklist.builder().id(1L).title("Updated").build();
 
         when(checklistMapper.toChecklist(any(ChecklistUpdateRequestDto.class))).thenReturn(mapped);
-        when(checklistService.updateChecklist(eq(1L), eq(mapped))).thenReturn(updated);
+        when(checklistService.updateChecklist(eq(1L), eq(mapped), isNull())).thenReturn(updated);
         when(checklistMapper.toChecklistResponseDto(updated)).thenReturn(
                 new ChecklistResponseDto(1L, "Updated", 0, null, List.of()));
 
@@ -174,7 +295,7 @@ class ChecklistControllerTest {
         Checklist mapped = Checklist.builder().id(99L).title("Not found").build();
 
         when(checklistMapper.toChecklist(any(ChecklistUpdateRequestDto.class))).thenReturn(mapped);
-        when(checklistService.updateChecklist(eq(99L), eq(mapped)))
+        when(checklistService.updateChecklist(eq(99L), eq(mapped), isNull()))
                 .thenThrow(new ResourceNotFoundException("Not found"));
 
         mockMvc.perform(put("/api/v1/checklists/99")
@@ -183,6 +304,60 @@ class ChecklistControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void updateChecklistShouldPassIfMatchVersionAndReturnNewETag() throws Exception {
+        ChecklistUpdateRequestDto requestDto = new ChecklistUpdateRequestDto(1L, "Updated");
+        Checklist mapped = Checklist.builder().id(1L).title("Updated").build();
+        Checklist updated = Checklist.builder().id(1L).title("Updated").version(4L).build();
+
+        when(checklistMapper.toChecklist(any(ChecklistUpdateRequestDto.class))).thenReturn(mapped);
+        when(checklistService.updateChecklist(1L, mapped, 3L)).thenReturn(updated);
+        when(checklistMapper.toChecklistResponseDto(updated)).thenReturn(
+                new ChecklistResponseDto(1L, "Updated", 0, null, List.of()));
+
+        mockMvc.perform(put("/api/v1/checklists/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void updateChecklistShouldReturn412WithCurrentChecklistWhenVersionIsStale() throws Exception {
+        ChecklistUpdateRequestDto requestDto = new ChecklistUpdateRequestDto(1L, "Updated");
+        Checklist mapped = Checklist.builder().id(1L).title("Updated").build();
+        Checklist current = Checklist.builder().id(1L).title("Theirs").version(5L).build();
+
+        when(checklistMapper.toChecklist(any(ChecklistUpdateRequestDto.class))).thenReturn(mapped);
+        when(checklistService.updateChecklist(1L, mapped, 3L)).thenThrow(
+                new VersionConflictException("stale", VersionConflictException.Reason.PRECONDITION_FAILED, null));
+        when(checklistService.findChecklist(1L)).thenReturn(current);
+        when(checklistMapper.toChecklistResponseDto(current)).thenReturn(
+                new ChecklistResponseDto(1L, "Theirs", 0, null, List.of()));
+
+        mockMvc.perform(put("/api/v1/checklists/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(jsonPath("$.title").value("Theirs"));
+    }
+
+    @Test
+    void updateChecklistShouldReturn400WhenIfMatchIsMalformed() throws Exception {
+        ChecklistUpdateRequestDto requestDto = new ChecklistUpdateRequestDto(1L, "Updated");
+
+        mockMvc.perform(put("/api/v1/checklists/1")
+                        .header(HttpHeaders.IF_MATCH, "three")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(checklistService, never()).updateChecklist(any(), any(), any());
+    }
+
     @Test
     void deleteChecklistShouldReturn204() throws Exception {
         doNothing().when(checklistService).deleteChecklist(1L);
@@ -198,4 +373,38 @@ class ChecklistControllerTest {
         mockMvc.perform(delete("/api/v1/checklists/99"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void cloneChecklistShouldReturn201() throws Exception {
+        Checklist copy = Checklist.builder().id(1L).title("New List").version(1L).build();
+
+        when(checklistService.cloneChecklist(5L, "Week 12", true)).thenReturn(copy);
+        when(checklistMapper.toChecklistResponseDto(copy)).thenReturn(sampleResponse);
+
+        mockMvc.perform(post("/api/v1/checklists/5:clone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ChecklistCloneRequestDto("Week 12", true))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void cloneChecklistShouldKeepStatusesWithoutBody() throws Exception {
+        Checklist copy = Checklist.builder().id(1L).title("New List").build();
+
+        when(checklistService.cloneChecklist(5L, null, false)).thenReturn(copy);
+        when(checklistMapper.toChecklistResponseDto(copy)).thenReturn(sampleResponse);
+
+        mockMvc.perform(post("/api/v1/checklists/5:clone"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void cloneChecklistShouldReturn404WhenNotFound() throws Exception {
+        when(checklistService.cloneChecklist(99L, null, false)).thenThrow(new ResourceNotFoundException("Not found"));
+
+        mockMvc.perform(post("/api/v1/checklists/99:clone"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -2,8 +2,10 @@ package com.abanoj.note.checklist.mapper;
 
 import com.abanoj.note.checklist.dto.ChecklistCreateRequestDto;
 import com.abanoj.note.checklist.dto.ChecklistResponseDto;
+import com.abanoj.note.checklist.dto.ChecklistSummaryResponseDto;
 import com.abanoj.note.checklist.dto.ChecklistUpdateRequestDto;
 import com.abanoj.note.checklist.entity.Checklist;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
@@ -81,6 +83,8 @@ class ChecklistMapperTest {
                 .id(1L)
                 .title("All done")
                 .items(List.of(item1, item2))
+                .itemCount(2)
+                .doneCount(2)
                 .build();
 
         when(itemMapper.toItemDto(any())).thenReturn(null);
@@ -100,6 +104,8 @@ class ChecklistMapperTest {
                 .id(1L)
                 .title("Mixed")
                 .items(List.of(done, pending, inProgress))
+                .itemCount(3)
+                .doneCount(1)
                 .build();
 
         when(itemMapper.toItemDto(any())).thenReturn(null);
@@ -117,6 +123,7 @@ class ChecklistMapperTest {
                 .id(1L)
                 .title("No progress")
                 .items(List.of(pending))
+                .itemCount(1)
                 .build();
 
         when(itemMapper.toItemDto(any())).thenReturn(null);
@@ -126,4 +133,22 @@ class ChecklistMapperTest {
         assertThat(dto.numberOfItems()).isEqualTo(1);
         assertThat(dto.progress()).isEqualTo(0.0);
     }
+
+    @Test
+    void toChecklistSummaryResponseDtoShouldCalculateProgressFromCounts() {
+        ChecklistSummaryResponseDto dto = checklistMapper.toChecklistSummaryResponseDto(new ChecklistSummary(1L, "Mixed", 4, 1));
+
+        assertThat(dto.id()).isEqualTo(1L);
+        assertThat(dto.title()).isEqualTo("Mixed");
+        assertThat(dto.numberOfItems()).isEqualTo(4);
+        assertThat(dto.progress()).isEqualTo(0.25);
+    }
+
+    @Test
+    void toChecklistSummaryResponseDtoWithoutItemsShouldReturnNullProgress() {
+        ChecklistSummaryResponseDto dto = checklistMapper.toChecklistSummaryResponseDto(new ChecklistSummary(1L, "Empty", 0, 0));
+
+        assertThat(dto.numberOfItems()).isZero();
+        assertThat(dto.progress()).isNull();
+    }
 }
@@ -4,8 +4,12 @@ import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.repository.ItemRepository;
+import com.abanoj.note.item.service.ItemRank;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +17,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,11 +35,15 @@ class ChecklistRepositoryTest {
     @Autowired
     private ChecklistRepository checklistRepository;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
     @Autowired
     private TestEntityManager entityManager;
 
     private User user;
     private User otherUser;
+    private int nextRank;
 
     @BeforeEach
     void setUp() {
@@ -54,6 +64,11 @@ class ChecklistRepositoryTest {
         entityManager.flush();
     }
 
+    private Item ranked(Item item) {
+        item.setSortKey(ItemRank.spaced(nextRank++));
+        return item;
+    }
+
     private Checklist createChecklist(String title, User owner) {
         LocalDateTime now = LocalDateTime.now();
         Checklist checklist = Checklist.builder()
@@ -67,26 +82,26 @@ class ChecklistRepositoryTest {
     }
 
     @Test
-    void findAllByUserShouldReturnOnlyOwnChecklists() {
+    void findAllByUserIdShouldReturnOnlyOwnChecklists() {
         createChecklist("My list", user);
         createChecklist("Other's list", otherUser);
         entityManager.flush();
 
-        Page<Checklist> result = checklistRepository.findAllByUser(user, PageRequest.of(0, 10));
+        Page<Checklist> result = checklistRepository.findAllByUserId(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("My list");
     }
 
     @Test
-    void findAllByUserShouldSupportPagination() {
+    void findAllByUserIdShouldSupportPagination() {
         for (int i = 0; i < 5; i++) {
             createChecklist("List " + i, user);
         }
         entityManager.flush();
 
-        Page<Checklist> firstPage = checklistRepository.findAllByUser(user, PageRequest.of(0, 2, Sort.by("title")));
-        Page<Checklist> secondPage = checklistRepository.findAllByUser(user, PageRequest.of(1, 2, Sort.by("title")));
+        Page<Checklist> firstPage = checklistRepository.findAllByUserId(user.getId(), PageRequest.of(0, 2, Sort.by("title")));
+        Page<Checklist> secondPage = checklistRepository.findAllByUserId(user.getId(), PageRequest.of(1, 2, Sort.by("title")));
 
         assertThat(firstPage.getContent()).hasSize(2);
         assertThat(secondPage.getContent()).hasSize(2);
@@ -94,47 +109,245 @@ class ChecklistRepositoryTest {
     }
 
     @Test
-    void findAllByUserShouldReturnEmptyWhenNoChecklists() {
-        Page<Checklist> result = checklistRepository.findAllByUser(user, PageRequest.of(0, 10));
+    void findAllByUserIdShouldReturnEmptyWhenNoChecklists() {
+        Page<Checklist> result = checklistRepository.findAllByUserId(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result.getContent()).isEmpty();
     }
 
     @Test
-    void findByIdAndUserShouldReturnChecklistWhenOwned() {
+    void findByIdAndUserIdShouldReturnChecklistWhenOwned() {
         Checklist checklist = createChecklist("My list", user);
         entityManager.flush();
 
-        Optional<Checklist> result = checklistRepository.findByIdAndUser(checklist.getId(), user);
+        Optional<Checklist> result = checklistRepository.findByIdAndUserId(checklist.getId(), user.getId());
 
         assertThat(result).isPresent();
         assertThat(result.get().getTitle()).isEqualTo("My list");
     }
 
     @Test
-    void findByIdAndUserShouldReturnEmptyWhenNotOwned() {
+    void findByIdAndUserIdShouldReturnEmptyWhenNotOwned() {
         Checklist checklist = createChecklist("Other's list", otherUser);
         entityManager.flush();
 
-        Optional<Checklist> result = checklistRepository.findByIdAndUser(checklist.getId(), user);
+        Optional<Checklist> result = checklistRepository.findByIdAndUserId(checklist.getId(), user.getId());
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findByIdAndUserShouldReturnEmptyWhenNotExists() {
-        Optional<Checklist> result = checklistRepository.findByIdAndUser(999L, user);
+    void findByIdAndUserIdShouldReturnEmptyWhenNotExists() {
+        Optional<Checklist> result = checklistRepository.findByIdAndUserId(999L, user.getId());
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void existsByIdAndUserShouldReturnTrueWhenOwned() {
+    void existsByIdAndUserIdShouldReturnTrueWhenOwned() {
         Checklist checklist = createChecklist("My list", user);
         entityManager.flush();
 
-        boolean exists = checklistRepository.existsByIdAndUser(checklist.getId(), user);
+        boolean exists = checklistRepository.existsByIdAndUserId(checklist.getId(), user.getId());
 
         assertThat(exists).isTrue();
     }
+
+    @Test
+    void findAllByUserIdShouldKeepRequestedSortOrder() {
+        createChecklist("b", user);
+        createChecklist("c", user);
+        createChecklist("a", user);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<Checklist> page = checklistRepository.findAllByUserId(user.getId(), PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "title")));
+
+        assertThat(page.getContent()).extracting(Checklist::getTitle).containsExactly("c", "b", "a");
+    }
+
+    @Test
+    void findAllByUserIdShouldLoadOnlyRequestedPageRegardlessOfChecklistCount() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        long[] smallUser = loadFirstPage(statistics, 10);
+        long[] largeUser = loadFirstPage(statistics, 60);
+
+        assertThat(largeUser).containsExactly(smallUser);
+        assertThat(largeUser[0]).isEqualTo(3);
+        assertThat(largeUser[1]).isEqualTo(5 + 5 * 2);
+    }
+
+    // Returns the number of statements and entities needed to load a page of five checklists.
+    private long[] loadFirstPage(Statistics statistics, int checklistCount) {
+        User owner = User.builder()
+                .email("owner" + checklistCount + "@email.com")
+                .password("password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(owner);
+        for (int i = 0; i < checklistCount; i++) {
+            Checklist checklist = createChecklist("List " + i, owner);
+            for (int j = 0; j < 2; j++) {
+                entityManager.persist(ranked(new Item(null, "Item " + j, ItemStatus.PENDING, ItemPriority.MEDIUM, checklist, LocalDateTime.now(), LocalDateTime.now())));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Page<Checklist> page = checklistRepository.findAllByUserId(owner.getId(), PageRequest.of(0, 5, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(5).allSatisfy(checklist -> assertThat(checklist.getItems()).hasSize(2));
+        return new long[]{statistics.getPrepareStatementCount(), statistics.getEntityLoadCount()};
+    }
+
+    @Test
+    void findSummariesByUserIdShouldReadCountersWithoutLoadingItems() {
+        Checklist groceries = createChecklist("Groceries", user);
+        createChecklist("Empty", user);
+        createChecklist("Other's list", otherUser);
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(ranked(new Item(null, "Milk", ItemStatus.DONE, ItemPriority.LOW, groceries, now, now)));
+        entityManager.persist(ranked(new Item(null, "Eggs", ItemStatus.PENDING, ItemPriority.LOW, groceries, now, now)));
+        entityManager.persist(ranked(new Item(null, "Bread", ItemStatus.DONE, ItemPriority.LOW, groceries, now, now)));
+        entityManager.flush();
+        checklistRepository.repairItemCounters(List.of(groceries.getId()));
+        entityManager.clear();
+
+        Page<ChecklistSummary> result = checklistRepository.findSummariesByUserId(user.getId(), PageRequest.of(0, 10, Sort.by("title")));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).containsExactly(
+                new ChecklistSummary(result.getContent().get(0).id(), "Empty", 0, 0),
+                new ChecklistSummary(groceries.getId(), "Groceries", 3, 2));
+    }
+
+    @Test
+    void adjustItemCountersShouldApplyRelativeChanges() {
+        Checklist checklist = createChecklist("Counters", user);
+        entityManager.flush();
+
+        checklistRepository.adjustItemCounters(checklist.getId(), 2, 1);
+        checklistRepository.adjustItemCounters(checklist.getId(), -1, 0);
+        entityManager.clear();
+
+        Checklist result = checklistRepository.findById(checklist.getId()).orElseThrow();
+        assertThat(result.getItemCount()).isEqualTo(1);
+        assertThat(result.getDoneCount()).isEqualTo(1);
+    }
+
+    @Test
+    void itemCounterChangesShouldBumpTheVersionReadByRevalidation() {
+        Checklist checklist = createChecklist("Versioned", user);
+        entityManager.flush();
+
+        assertThat(checklistRepository.findVersionByIdAndUserId(checklist.getId(), user.getId())).contains(0L);
+        checklistRepository.adjustItemCounters(checklist.getId(), 1, 0);
+        checklistRepository.markItemsChanged(checklist.getId());
+
+        assertThat(checklistRepository.findVersionByIdAndUserId(checklist.getId(), user.getId())).contains(2L);
+        assertThat(checklistRepository.findVersionByIdAndUserId(checklist.getId(), user.getId() + 1)).isEmpty();
+    }
+
+    @Test
+    void repairItemCountersShouldFixOnlyDriftedChecklists() {
+        Checklist drifted = createChecklist("Drifted", user);
+        Checklist accurate = createChecklist("Accurate", user);
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(ranked(new Item(null, "Done", ItemStatus.DONE, ItemPriority.LOW, drifted, now, now)));
+        entityManager.flush();
+
+        int repaired = checklistRepository.repairItemCounters(List.of(drifted.getId(), accurate.getId()));
+        entityManager.clear();
+
+        Checklist result = checklistRepository.findById(drifted.getId()).orElseThrow();
+        assertThat(repaired).isEqualTo(1);
+        assertThat(result.getItemCount()).isEqualTo(1);
+        assertThat(result.getDoneCount()).isEqualTo(1);
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(checklistRepository.findVersionByIdAndUserId(accurate.getId(), user.getId())).contains(0L);
+    }
+
+    @Test
+    void keysetQueriesShouldSeekPastCursorInUpdatedOrder() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Checklist oldest = createChecklist("Oldest", user);
+        oldest.setUpdated(base);
+        Checklist tiedLow = createChecklist("Tied low", user);
+        tiedLow.setUpdated(base.plusMinutes(1));
+        Checklist tiedHigh = createChecklist("Tied high", user);
+        tiedHigh.setUpdated(base.plusMinutes(1));
+        Checklist newest = createChecklist("Newest", user);
+        newest.setUpdated(base.plusMinutes(2));
+        entityManager.flush();
+
+        List<Long> first = checklistRepository.findFirstIdsByUserId(user.getId(), PageRequest.of(0, 2));
+        List<Long> next = checklistRepository.findIdsByUserIdAfter(user.getId(), tiedHigh.getUpdated(), tiedHigh.getId(), PageRequest.of(0, 2));
+
+        assertThat(first).containsExactly(newest.getId(), tiedHigh.getId());
+        assertThat(next).containsExactly(tiedLow.getId(), oldest.getId());
+    }
+
+    @Test
+    void findSliceByUserIdShouldDetectNextPageWithoutCounting() {
+        for (int i = 0; i < 3; i++) {
+            createChecklist("List " + i, user);
+        }
+        entityManager.flush();
+
+        Slice<Checklist> first = checklistRepository.findSliceByUserId(user.getId(), PageRequest.of(0, 2, Sort.by("title")));
+        Slice<Checklist> last = checklistRepository.findSliceByUserId(user.getId(), PageRequest.of(1, 2, Sort.by("title")));
+
+        assertThat(first.getContent()).extracting(Checklist::getTitle).containsExactly("List 0", "List 1");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting(Checklist::getTitle).containsExactly("List 2");
+        assertThat(last.hasNext()).isFalse();
+        assertThat(checklistRepository.countByUserId(user.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void findOwnerIdByIdShouldReturnOwnerWithoutLoadingChecklist() {
+        Checklist checklist = createChecklist("My list", user);
+        entityManager.flush();
+
+        assertThat(checklistRepository.findOwnerIdById(checklist.getId())).contains(user.getId());
+        assertThat(checklistRepository.findOwnerIdById(999L)).isEmpty();
+    }
+
+    @Test
+    void deletingOwnedChecklistShouldTakeTwoStatementsRegardlessOfItemCount() {
+        Checklist checklist = createChecklist("Big list", user);
+        for (int i = 0; i < 50; i++) {
+            entityManager.persist(ranked(new Item(null, "Item " + i, ItemStatus.PENDING, ItemPriority.MEDIUM, checklist, LocalDateTime.now(), LocalDateTime.now())));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        int items = itemRepository.deleteAllOwnedByChecklist(checklist.getId(), user.getId());
+        int checklists = checklistRepository.deleteOwnedChecklist(checklist.getId(), user.getId());
+
+        assertThat(items).isEqualTo(50);
+        assertThat(checklists).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(itemRepository.findByChecklistId(checklist.getId())).isEmpty();
+    }
+
+    @Test
+    void deleteOwnedChecklistShouldNotTouchOtherUsersChecklist() {
+        Checklist checklist = createChecklist("Other's list", otherUser);
+        entityManager.persist(ranked(new Item(null, "Item", ItemStatus.PENDING, ItemPriority.MEDIUM, checklist, LocalDateTime.now(), LocalDateTime.now())));
+        entityManager.flush();
+
+        assertThat(itemRepository.deleteAllOwnedByChecklist(checklist.getId(), user.getId())).isZero();
+        assertThat(checklistRepository.deleteOwnedChecklist(checklist.getId(), user.getId())).isZero();
+        assertThat(checklistRepository.existsById(checklist.getId())).isTrue();
+    }
 }
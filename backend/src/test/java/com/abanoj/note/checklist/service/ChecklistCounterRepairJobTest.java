@@ -0,0 +1,64 @@
+package com.abanoj.note.checklist.service;
+
+import com.abanoj.note.checklist.repository.ChecklistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistCounterRepairJobTest {
+
+    @Mock
+    private ChecklistRepository checklistRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ChecklistCounterRepairJob repairJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repairJob = new ChecklistCounterRepairJob(checklistRepository, transactionTemplate, meterRegistry, 2);
+    }
+
+    @Test
+    void repairItemCountersShouldWalkAllChecklistsInChunks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(checklistRepository.findIdsAfter(eq(0L), eq(PageRequest.of(0, 2)))).thenReturn(List.of(1L, 2L));
+        when(checklistRepository.findIdsAfter(eq(2L), eq(PageRequest.of(0, 2)))).thenReturn(List.of(3L));
+        when(checklistRepository.repairItemCounters(List.of(1L, 2L))).thenReturn(1);
+        when(checklistRepository.repairItemCounters(List.of(3L))).thenReturn(0);
+
+        repairJob.repairItemCounters();
+
+        verify(checklistRepository, times(2)).repairItemCounters(any());
+        assertThat(meterRegistry.counter("checklists.counters.repaired").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void repairItemCountersShouldDoNothingWithoutChecklists() {
+        when(checklistRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of());
+
+        repairJob.repairItemCounters();
+
+        verify(checklistRepository, never()).repairItemCounters(any());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
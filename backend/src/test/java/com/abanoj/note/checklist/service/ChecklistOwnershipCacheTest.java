@@ -0,0 +1,58 @@
+package com.abanoj.note.checklist.service;
+
+import com.abanoj.note.checklist.repository.ChecklistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChecklistOwnershipCacheTest {
+
+    @Mock
+    private ChecklistRepository checklistRepository;
+
+    private ChecklistOwnershipCache ownershipCache;
+
+    @BeforeEach
+    void setUp() {
+        ownershipCache = new ChecklistOwnershipCache(checklistRepository, 600, 100);
+    }
+
+    @Test
+    void isOwnedByShouldQueryOwnerOnceAndServeFromCache() {
+        when(checklistRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+
+        assertThat(ownershipCache.isOwnedBy(1L, 7L)).isTrue();
+        assertThat(ownershipCache.isOwnedBy(1L, 8L)).isFalse();
+
+        verify(checklistRepository, times(1)).findOwnerIdById(1L);
+    }
+
+    @Test
+    void isOwnedByShouldNotCacheMissingChecklist() {
+        when(checklistRepository.findOwnerIdById(1L)).thenReturn(Optional.empty());
+
+        assertThat(ownershipCache.isOwnedBy(1L, 7L)).isFalse();
+        assertThat(ownershipCache.isOwnedBy(1L, 7L)).isFalse();
+
+        verify(checklistRepository, times(2)).findOwnerIdById(1L);
+    }
+
+    @Test
+    void evictShouldForceOwnerLookup() {
+        when(checklistRepository.findOwnerIdById(1L)).thenReturn(Optional.of(7L));
+        ownershipCache.isOwnedBy(1L, 7L);
+
+        ownershipCache.evict(1L);
+        ownershipCache.isOwnedBy(1L, 7L);
+
+        verify(checklistRepository, times(2)).findOwnerIdById(1L);
+    }
+}
@@ -3,19 +3,33 @@ package com.abanoj.note.checklist.service;
 import com.abanoj.note.auth.SecurityUtils;
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.checklist.repository.ChecklistRepository;
+import com.abanoj.note.checklist.repository.ChecklistSummary;
+import com.abanoj.note.concurrency.VersionConflicts;
+import com.abanoj.note.config.IdBlockAllocator;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
+import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.repository.ItemRepository;
+import com.abanoj.note.pagination.Cursor;
+import com.abanoj.note.pagination.CursorPage;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
+import com.abanoj.note.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,6 +39,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -34,9 +50,27 @@ class ChecklistServiceImplTest {
     @Mock
     private ChecklistRepository checklistRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChecklistCountCache checklistCountCache;
+
+    @Mock
+    private ChecklistOwnershipCache checklistOwnershipCache;
+
+    @Mock
+    private IdBlockAllocator idBlockAllocator;
+
+    @Spy
+    private VersionConflicts versionConflicts = new VersionConflicts(new SimpleMeterRegistry());
+
     @InjectMocks
     private ChecklistServiceImpl checklistService;
 
@@ -58,21 +92,79 @@ class ChecklistServiceImplTest {
         Checklist checklist = Checklist.builder().id(1L).title("List").items(new ArrayList<>()).build();
         Page<Checklist> page = new PageImpl<>(List.of(checklist));
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findAllByUser(user, pageable)).thenReturn(page);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findAllByUserId(1L, pageable)).thenReturn(page);
 
         Page<Checklist> result = checklistService.findAllChecklist(pageable);
 
         assertThat(result.getContent()).hasSize(1);
-        verify(checklistRepository).findAllByUser(user, pageable);
+        verify(checklistRepository).findAllByUserId(1L, pageable);
+    }
+
+    @Test
+    void findAllChecklistSummariesShouldQueryByCurrentUser() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ChecklistSummary> page = new PageImpl<>(List.of(new ChecklistSummary(1L, "List", 4, 1)));
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findSummariesByUserId(1L, pageable)).thenReturn(page);
+
+        Page<ChecklistSummary> result = checklistService.findAllChecklistSummaries(pageable);
+
+        assertThat(result.getContent()).containsExactly(new ChecklistSummary(1L, "List", 4, 1));
+    }
+
+    @Test
+    void findAllChecklistSliceShouldNotCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Checklist> slice = new SliceImpl<>(List.of(), pageable, false);
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findSliceByUserId(1L, pageable)).thenReturn(slice);
+
+        Slice<Checklist> result = checklistService.findAllChecklistSlice(pageable);
+
+        assertThat(result.hasNext()).isFalse();
+        verify(checklistRepository, never()).countByUserId(any());
+    }
+
+    @Test
+    void countChecklistsShouldReadCachedCount() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistCountCache.get(1L)).thenReturn(7L);
+
+        assertThat(checklistService.countChecklists()).isEqualTo(7L);
+    }
+
+    @Test
+    void scrollChecklistsShouldFetchItemsOnlyForReturnedPage() {
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Checklist checklist = Checklist.builder().id(3L).title("List").updated(updated).items(new ArrayList<>()).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findFirstIdsByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(3L, 2L));
+        when(checklistRepository.findAllWithItemsByIdsInOrder(List.of(3L))).thenReturn(List.of(checklist));
+
+        CursorPage<Checklist> result = checklistService.scrollChecklists(null, 1);
+
+        assertThat(result.content()).containsExactly(checklist);
+        assertThat(Cursor.decode(result.nextCursor())).isEqualTo(new Cursor(updated, 3L));
+    }
+
+    @Test
+    void scrollChecklistsShouldRejectInvalidCursor() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+
+        assertThatThrownBy(() -> checklistService.scrollChecklists("%%%", 10))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void findChecklistShouldReturnChecklistWhenFound() {
         Checklist checklist = Checklist.builder().id(1L).title("List").items(new ArrayList<>()).build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(checklist));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(checklist));
 
         Checklist result = checklistService.findChecklist(1L);
 
@@ -81,8 +173,8 @@ class ChecklistServiceImplTest {
 
     @Test
     void findChecklistShouldThrowWhenNotFound() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> checklistService.findChecklist(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -93,20 +185,22 @@ class ChecklistServiceImplTest {
         Checklist checklist = Checklist.builder().title("New List").items(new ArrayList<>()).build();
         Checklist saved = Checklist.builder().id(1L).title("New List").items(new ArrayList<>()).build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(checklistRepository.save(any(Checklist.class))).thenReturn(saved);
 
         Checklist result = checklistService.createChecklist(checklist);
 
         assertThat(result.getId()).isEqualTo(1L);
-        verify(checklistRepository).save(any(Checklist.class));
+        verify(checklistRepository).save(argThat(toSave -> toSave.getUser() == user));
+        verify(checklistCountCache).adjust(1L, 1);
     }
 
     @Test
     void createChecklistShouldThrowWhenIdAlreadyExists() {
         Checklist checklist = Checklist.builder().id(1L).title("Existing").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
         assertThatThrownBy(() -> checklistService.createChecklist(checklist))
                 .isInstanceOf(IllegalArgumentException.class);
@@ -117,23 +211,23 @@ class ChecklistServiceImplTest {
         Checklist input = Checklist.builder().id(1L).title("Updated").build();
         Checklist existing = Checklist.builder().id(1L).title("Old").items(new ArrayList<>()).build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(existing));
-        when(checklistRepository.save(any(Checklist.class))).thenReturn(existing);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(checklistRepository.saveAndFlush(any(Checklist.class))).thenReturn(existing);
 
-        Checklist result = checklistService.updateChecklist(1L, input);
+        Checklist result = checklistService.updateChecklist(1L, input, null);
 
         assertThat(result.getTitle()).isEqualTo("Updated");
-        verify(checklistRepository).save(existing);
+        verify(checklistRepository).saveAndFlush(existing);
     }
 
     @Test
     void updateChecklistShouldThrowWhenNullId() {
         Checklist input = Checklist.builder().title("No ID").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
-        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input))
+        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must have an ID");
     }
@@ -142,9 +236,9 @@ class ChecklistServiceImplTest {
     void updateChecklistShouldThrowWhenIdMismatch() {
         Checklist input = Checklist.builder().id(2L).title("Mismatch").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
-        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input))
+        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("do not match");
     }
@@ -153,31 +247,98 @@ class ChecklistServiceImplTest {
     void updateChecklistShouldThrowWhenNotFound() {
         Checklist input = Checklist.builder().id(1L).title("Not found").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input))
+        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input, null))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
-    void deleteChecklistShouldDeleteWhenFound() {
-        Checklist checklist = Checklist.builder().id(1L).title("To delete").build();
+    void updateChecklistShouldRejectStaleExpectedVersion() {
+        Checklist input = Checklist.builder().id(1L).title("Updated").build();
+        Checklist existing = Checklist.builder().id(1L).title("Old").version(3L).items(new ArrayList<>()).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(checklist));
+        assertThatThrownBy(() -> checklistService.updateChecklist(1L, input, 2L))
+                .isInstanceOf(VersionConflictException.class)
+                .extracting("reason").isEqualTo(VersionConflictException.Reason.PRECONDITION_FAILED);
+        assertThat(existing.getTitle()).isEqualTo("Old");
+        verify(checklistRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void deleteChecklistShouldBulkDeleteItemsThenChecklist() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.deleteOwnedChecklist(1L, 1L)).thenReturn(1);
 
         checklistService.deleteChecklist(1L);
 
-        verify(checklistRepository).delete(checklist);
+        InOrder inOrder = inOrder(itemRepository, checklistRepository);
+        inOrder.verify(itemRepository).deleteAllOwnedByChecklist(1L, 1L);
+        inOrder.verify(checklistRepository).deleteOwnedChecklist(1L, 1L);
+        verify(checklistRepository, never()).findByIdAndUserId(any(), any());
+        verify(checklistOwnershipCache).evict(1L);
+        verify(checklistCountCache).adjust(1L, -1);
     }
 
     @Test
     void deleteChecklistShouldThrowWhenNotFound() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.deleteOwnedChecklist(1L, 1L)).thenReturn(0);
 
         assertThatThrownBy(() -> checklistService.deleteChecklist(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verify(checklistCountCache, never()).adjust(any(), anyInt());
+    }
+
+    @Test
+    void cloneChecklistShouldCopyItemsInOneStatement() {
+        Checklist copy = Checklist.builder().id(7L).title("Groceries").items(new ArrayList<>()).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findTitleByIdAndUserId(3L, 1L)).thenReturn(Optional.of("Groceries"));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(checklistRepository.save(any(Checklist.class))).thenReturn(copy);
+        when(itemRepository.countByChecklistId(3L)).thenReturn(500L);
+        when(idBlockAllocator.allocate("item", 500L)).thenReturn(1000L);
+        when(checklistRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(copy));
+
+        Checklist result = checklistService.cloneChecklist(3L, null, true);
+
+        assertThat(result).isSameAs(copy);
+        verify(checklistRepository).save(argThat(toSave -> toSave.getTitle().equals("Groceries") && toSave.getUser() == user));
+        verify(itemRepository).copyItems(eq(3L), eq(7L), eq(1000L), eq(500L), eq(ItemStatus.PENDING.name()), any());
+        verify(checklistRepository).repairItemCounters(List.of(7L));
+        verify(checklistCountCache).adjust(1L, 1);
+    }
+
+    @Test
+    void cloneChecklistShouldSkipCopyForEmptyChecklist() {
+        Checklist copy = Checklist.builder().id(7L).title("Renamed").items(new ArrayList<>()).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findTitleByIdAndUserId(3L, 1L)).thenReturn(Optional.of("Groceries"));
+        when(checklistRepository.save(any(Checklist.class))).thenReturn(copy);
+        when(itemRepository.countByChecklistId(3L)).thenReturn(0L);
+        when(checklistRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(copy));
+
+        checklistService.cloneChecklist(3L, "Renamed", false);
+
+        verify(checklistRepository).save(argThat(toSave -> toSave.getTitle().equals("Renamed")));
+        verifyNoInteractions(idBlockAllocator);
+        verify(itemRepository, never()).copyItems(any(), any(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void cloneChecklistShouldThrowWhenSourceNotOwned() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistRepository.findTitleByIdAndUserId(3L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> checklistService.cloneChecklist(3L, null, false))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(checklistRepository, never()).save(any());
     }
 }
@@ -0,0 +1,57 @@
+package com.abanoj.note.concurrency;
+
+import com.abanoj.note.exception.VersionConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    @Test
+    void ifMatchShouldParseBackToTheTaggedVersion() {
+        assertThat(ETags.parseIfMatch(ETags.of(12L))).isEqualTo(12L);
+        assertThat(ETags.parseIfMatch("W/\"12\"")).isEqualTo(12L);
+    }
+
+    @Test
+    void missingOrWildcardIfMatchShouldNotRequireAVersion() {
+        assertThat(ETags.parseIfMatch(null)).isNull();
+        assertThat(ETags.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void malformedIfMatchShouldBeRejected() {
+        assertThatThrownBy(() -> ETags.parseIfMatch("12"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ETags.parseIfMatch("\"abc\""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ifNoneMatchShouldMatchAnyListedTagWeakly() {
+        assertThat(ETags.matchesIfNoneMatch("\"1\", W/\"2\"", 2L)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("*", 2L)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("\"1\"", 2L)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch("garbage", 2L)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch(null, 2L)).isFalse();
+    }
+
+    @Test
+    void conflictsShouldBeCountedPerEntityAndReason() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VersionConflicts versionConflicts = new VersionConflicts(meterRegistry);
+
+        versionConflicts.checkExpectedVersion("item", 1L, null, 4L);
+        versionConflicts.checkExpectedVersion("item", 1L, 4L, 4L);
+        assertThatThrownBy(() -> versionConflicts.checkExpectedVersion("item", 1L, 3L, 4L))
+                .isInstanceOf(VersionConflictException.class);
+        versionConflicts.concurrentUpdate("item", 1L, null);
+
+        assertThat(meterRegistry.counter("entities.version.conflicts", "entity", "item", "reason", "precondition_failed").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("entities.version.conflicts", "entity", "item", "reason", "concurrent_update").count())
+                .isEqualTo(1.0);
+    }
+}
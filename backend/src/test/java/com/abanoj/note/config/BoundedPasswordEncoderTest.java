@@ -0,0 +1,70 @@
+package com.abanoj.note.config;
+
+import com.abanoj.note.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encodeAndMatchesShouldDelegate() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1);
+        when(delegate.encode("secret")).thenReturn("hashed");
+        when(delegate.matches("secret", "hashed")).thenReturn(true);
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed");
+        assertThat(encoder.matches("secret", "hashed")).isTrue();
+    }
+
+    @Test
+    void matchesShouldRejectWhenPoolIsSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches("slow", "hashed")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("slow", "hashed"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("other", "hashed"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void upgradeEncodingShouldDelegate() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1);
+        when(delegate.upgradeEncoding("hashed")).thenReturn(true);
+
+        assertThat(encoder.upgradeEncoding("hashed")).isTrue();
+    }
+}
@@ -1,8 +1,8 @@
 package com.abanoj.note.config;
 
-import com.abanoj.note.token.Token;
-import com.abanoj.note.token.TokenRepository;
-import com.abanoj.note.token.TokenType;
+import com.abanoj.note.auth.AuthenticatedUser;
+import com.abanoj.note.token.TokenGenerationCache;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
 import jakarta.servlet.FilterChain;
@@ -19,9 +19,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
-import java.util.Optional;
+import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -36,7 +37,10 @@ class JwtAuthenticationFilterTest {
     private UserDetailsService userDetailsService;
 
     @Mock
-    private TokenRepository tokenRepository;
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Mock
+    private TokenGenerationCache tokenGenerationCache;
 
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -52,6 +56,10 @@ class JwtAuthenticationFilterTest {
 
     private User user;
 
+    private VerifiedToken verifiedToken(String type) {
+        return new VerifiedToken("john@email.com", type, new Date(System.currentTimeMillis() + 60000), new Date(), null, null, null);
+    }
+
     @BeforeEach
     void setUp() {
         user = User.builder()
@@ -89,19 +97,17 @@ class JwtAuthenticationFilterTest {
 
     @Test
     void doFilterInternalShouldAuthenticateWhenValidToken() throws ServletException, IOException {
-        Token token = Token.builder()
-                .id(1L).token("valid-jwt").tokenType(TokenType.BEARER)
-                .revoked(false).user(user).build();
+        VerifiedToken verifiedToken = verifiedToken("access");
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid-jwt");
-        when(jwtService.extractUsername("valid-jwt")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("valid-jwt")).thenReturn("access");
+        when(jwtService.verify("valid-jwt")).thenReturn(verifiedToken);
         when(userDetailsService.loadUserByUsername("john@email.com")).thenReturn(user);
-        when(tokenRepository.findByToken("valid-jwt")).thenReturn(Optional.of(token));
-        when(jwtService.isTokenValid("valid-jwt", user)).thenReturn(true);
+        when(tokenRevocationCache.isActive("valid-jwt")).thenReturn(true);
+        when(jwtService.isTokenValid(verifiedToken, user)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
+        verify(jwtService, times(1)).verify("valid-jwt");
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("john@email.com");
@@ -109,16 +115,76 @@ class JwtAuthenticationFilterTest {
 
     @Test
     void doFilterInternalShouldNotAuthenticateWhenJwtServiceSaysInvalid() throws ServletException, IOException {
-        Token token = Token.builder()
-                .id(1L).token("invalid-jwt").tokenType(TokenType.BEARER)
-                .revoked(false).user(user).build();
+        VerifiedToken verifiedToken = verifiedToken("access");
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer invalid-jwt");
-        when(jwtService.extractUsername("invalid-jwt")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("invalid-jwt")).thenReturn("access");
+        when(jwtService.verify("invalid-jwt")).thenReturn(verifiedToken);
+        when(userDetailsService.loadUserByUsername("john@email.com")).thenReturn(user);
+        when(tokenRevocationCache.isActive("invalid-jwt")).thenReturn(true);
+        when(jwtService.isTokenValid(verifiedToken, user)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilterInternalShouldBuildPrincipalFromClaimsWithoutLoadingUser() throws ServletException, IOException {
+        VerifiedToken verifiedToken = new VerifiedToken("john@email.com", "access", new Date(System.currentTimeMillis() + 60000), new Date(), null, 1L, "USER");
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer claims-jwt");
+        when(jwtService.verify("claims-jwt")).thenReturn(verifiedToken);
+        when(tokenRevocationCache.isActive("claims-jwt")).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verifyNoInteractions(userDetailsService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isEqualTo(new AuthenticatedUser(1L, "john@email.com", Role.USER));
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("john@email.com");
+    }
+
+    @Test
+    void doFilterInternalShouldNotAuthenticateRevokedClaimsToken() throws ServletException, IOException {
+        VerifiedToken verifiedToken = new VerifiedToken("john@email.com", "access", new Date(System.currentTimeMillis() + 60000), new Date(), null, 1L, "USER");
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer revoked-jwt");
+        when(jwtService.verify("revoked-jwt")).thenReturn(verifiedToken);
+        when(tokenRevocationCache.isActive("revoked-jwt")).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilterInternalShouldCheckGenerationInsteadOfStoreInStatelessMode() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAccessTokens", true);
+        VerifiedToken verifiedToken = new VerifiedToken("john@email.com", "access", new Date(System.currentTimeMillis() + 60000), new Date(), 3L, null, null);
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer stateless-jwt");
+        when(jwtService.verify("stateless-jwt")).thenReturn(verifiedToken);
+        when(userDetailsService.loadUserByUsername("john@email.com")).thenReturn(user);
+        when(tokenGenerationCache.isCurrent("john@email.com", 3L)).thenReturn(true);
+        when(jwtService.isTokenValid(verifiedToken, user)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verifyNoInteractions(tokenRevocationCache);
+    }
+
+    @Test
+    void doFilterInternalShouldNotAuthenticateStaleGenerationInStatelessMode() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessAccessTokens", true);
+        VerifiedToken verifiedToken = new VerifiedToken("john@email.com", "access", new Date(System.currentTimeMillis() + 60000), new Date(), 2L, null, null);
+
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer stale-jwt");
+        when(jwtService.verify("stale-jwt")).thenReturn(verifiedToken);
         when(userDetailsService.loadUserByUsername("john@email.com")).thenReturn(user);
-        when(tokenRepository.findByToken("invalid-jwt")).thenReturn(Optional.of(token));
-        when(jwtService.isTokenValid("invalid-jwt", user)).thenReturn(false);
+        when(tokenGenerationCache.isCurrent("john@email.com", 2L)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -129,8 +195,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternalShouldNotAuthenticateWhenRefreshTokenUsedAsAccess() throws ServletException, IOException {
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer refresh-jwt");
-        when(jwtService.extractUsername("refresh-jwt")).thenReturn("john@email.com");
-        when(jwtService.extractTokenType("refresh-jwt")).thenReturn("refresh");
+        when(jwtService.verify("refresh-jwt")).thenReturn(verifiedToken("refresh"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -142,7 +207,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternalShouldContinueChainWhenExpiredJwtException() throws ServletException, IOException {
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer expired-jwt");
         when(request.getRequestURI()).thenReturn("/api/v1/test");
-        when(jwtService.extractUsername("expired-jwt")).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Token expired"));
+        when(jwtService.verify("expired-jwt")).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Token expired"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -154,7 +219,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternalShouldContinueChainWhenInvalidJwtException() throws ServletException, IOException {
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer malformed-jwt");
         when(request.getRequestURI()).thenReturn("/api/v1/test");
-        when(jwtService.extractUsername("malformed-jwt")).thenThrow(new io.jsonwebtoken.JwtException("Invalid"));
+        when(jwtService.verify("malformed-jwt")).thenThrow(new io.jsonwebtoken.JwtException("Invalid"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -99,4 +101,53 @@ class JwtServiceTest {
 
         assertThat(accessToken).isNotEqualTo(refreshToken);
     }
+
+    @Test
+    void verifyShouldExposeAllClaimsOfAccessToken() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertThat(verifiedToken.subject()).isEqualTo("john@email.com");
+        assertThat(verifiedToken.isAccessToken()).isTrue();
+        assertThat(verifiedToken.isRefreshToken()).isFalse();
+        assertThat(verifiedToken.issuedAt()).isNotNull();
+        assertThat(verifiedToken.expiration()).isAfter(verifiedToken.issuedAt());
+    }
+
+    @Test
+    void verifyShouldReturnRefreshTypeForRefreshToken() {
+        String refreshToken = jwtService.generateRefreshToken(user);
+
+        VerifiedToken verifiedToken = jwtService.verify(refreshToken);
+
+        assertThat(verifiedToken.isRefreshToken()).isTrue();
+    }
+
+    @Test
+    void verifyShouldRejectTamperedToken() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered))
+                .isInstanceOf(io.jsonwebtoken.JwtException.class);
+    }
+
+    @Test
+    void isTokenValidShouldAcceptVerifiedToken() {
+        VerifiedToken verifiedToken = jwtService.verify(jwtService.generateToken(user));
+
+        assertThat(jwtService.isTokenValid(verifiedToken, user)).isTrue();
+    }
+
+    @Test
+    void verifyShouldExposeIdentityClaims() {
+        String token = jwtService.generateToken(Map.of(JwtService.USER_ID_CLAIM, 1L, JwtService.ROLE_CLAIM, "USER"), user);
+
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        assertThat(verifiedToken.userId()).isEqualTo(1L);
+        assertThat(verifiedToken.role()).isEqualTo("USER");
+        assertThat(verifiedToken.hasIdentityClaims()).isTrue();
+    }
 }
@@ -1,8 +1,8 @@
 package com.abanoj.note.config;
 
-import com.abanoj.note.token.Token;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
-import com.abanoj.note.token.TokenType;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
 import com.abanoj.note.user.UserRepository;
@@ -11,16 +11,17 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.List;
+import java.util.Date;
 import java.util.Optional;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +30,12 @@ class LogoutServiceTest {
     @Mock
     private TokenRepository tokenRepository;
 
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Mock
+    private TokenGenerationCache tokenGenerationCache;
+
     @Mock
     private JwtService jwtService;
 
@@ -61,23 +68,33 @@ class LogoutServiceTest {
 
     @Test
     void logoutShouldRevokeAllUserTokensWhenValidBearerToken() {
-        Token accessToken = Token.builder()
-                .id(1L).token("access-jwt").tokenType(TokenType.BEARER)
-                .revoked(false).user(user).build();
-        Token refreshToken = Token.builder()
-                .id(2L).token("refresh-jwt").tokenType(TokenType.BEARER)
-                .revoked(false).user(user).build();
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer access-jwt");
+        when(jwtService.verify("access-jwt")).thenReturn(new VerifiedToken("john@email.com", "access", new Date(), new Date(), null, null, null));
+        when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
+        when(tokenRepository.revokeAllByUser(1L)).thenReturn(2);
+
+        logoutService.logout(request, response, authentication);
+
+        InOrder inOrder = inOrder(tokenRepository, tokenRevocationCache);
+        inOrder.verify(tokenRepository).revokeAllByUser(1L);
+        inOrder.verify(tokenRevocationCache).revokeAllForUser(1L);
+        verify(tokenRepository, never()).findAllValidTokensByUser(any());
+        verifyNoInteractions(tokenGenerationCache);
+    }
+
+    @Test
+    void logoutShouldAdvanceTokenGenerationInStatelessMode() {
+        ReflectionTestUtils.setField(logoutService, "statelessAccessTokens", true);
 
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer access-jwt");
-        when(jwtService.extractUsername("access-jwt")).thenReturn("john@email.com");
+        when(jwtService.verify("access-jwt")).thenReturn(new VerifiedToken("john@email.com", "access", new Date(), new Date(), 0L, null, null));
         when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
-        when(tokenRepository.findAllValidTokensByUser(1L)).thenReturn(List.of(accessToken, refreshToken));
 
         logoutService.logout(request, response, authentication);
 
-        assertThat(accessToken.isRevoked()).isTrue();
-        assertThat(refreshToken.isRevoked()).isTrue();
-        verify(tokenRepository).saveAll(List.of(accessToken, refreshToken));
+        InOrder inOrder = inOrder(tokenRepository, tokenGenerationCache);
+        inOrder.verify(tokenRepository).revokeAllByUser(1L);
+        inOrder.verify(tokenGenerationCache).increment(user);
     }
 
     @Test
@@ -101,11 +118,11 @@ class LogoutServiceTest {
     @Test
     void logoutShouldDoNothingWhenUserNotFound() {
         when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer some-jwt");
-        when(jwtService.extractUsername("some-jwt")).thenReturn("unknown@email.com");
+        when(jwtService.verify("some-jwt")).thenReturn(new VerifiedToken("unknown@email.com", "access", new Date(), new Date(), null, null, null));
         when(userRepository.findByEmail("unknown@email.com")).thenReturn(Optional.empty());
 
         logoutService.logout(request, response, authentication);
 
-        verify(tokenRepository, never()).saveAll(any());
+        verify(tokenRepository, never()).revokeAllByUser(any());
     }
 }
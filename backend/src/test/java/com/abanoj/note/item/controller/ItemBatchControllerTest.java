@@ -0,0 +1,163 @@
+package com.abanoj.note.item.controller;
+
+import com.abanoj.note.config.JwtService;
+import com.abanoj.note.exception.GlobalExceptionHandler;
+import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.item.dto.ItemBatchRequestDto;
+import com.abanoj.note.item.dto.ItemBulkUpdateRequestDto;
+import com.abanoj.note.item.dto.ItemChangesDto;
+import com.abanoj.note.item.dto.ItemFilterDto;
+import com.abanoj.note.item.dto.ItemDto;
+import com.abanoj.note.item.dto.ItemOperationDto;
+import com.abanoj.note.item.dto.ItemOperationResultDto;
+import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.mapper.ItemMapper;
+import com.abanoj.note.item.service.ItemBulkUpdate;
+import com.abanoj.note.item.service.ItemOperation;
+import com.abanoj.note.item.service.ItemOperationResult;
+import com.abanoj.note.item.service.ItemOperationType;
+import com.abanoj.note.item.service.ItemService;
+import com.abanoj.note.token.TokenGenerationCache;
+import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
+import com.abanoj.note.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ItemBatchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+class ItemBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ItemService itemService;
+
+    @MockitoBean
+    private ItemMapper itemMapper;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private TokenRepository tokenRepository;
+
+    @MockitoBean
+    private TokenRevocationCache tokenRevocationCache;
+
+    @MockitoBean
+    private TokenGenerationCache tokenGenerationCache;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private LogoutHandler logoutHandler;
+
+    @Test
+    void batchItemsShouldReturnPerOperationResults() throws Exception {
+        ItemOperationDto create = new ItemOperationDto(ItemOperationType.CREATE, null, "Buy milk", null, null);
+        ItemOperationDto delete = new ItemOperationDto(ItemOperationType.DELETE, 9L, null, null, null);
+        Item created = new Item(1L, "Buy milk", ItemStatus.PENDING, ItemPriority.MEDIUM, null, LocalDateTime.now(), LocalDateTime.now());
+        ItemOperationResult createdResult = new ItemOperationResult(ItemOperationType.CREATE, ItemOperationResult.Outcome.CREATED, null, created);
+        ItemOperationResult missingResult = new ItemOperationResult(ItemOperationType.DELETE, ItemOperationResult.Outcome.NOT_FOUND, 9L, null);
+
+        when(itemMapper.toItemOperation(any())).thenReturn(new ItemOperation(ItemOperationType.CREATE, null, created));
+        when(itemService.applyBatch(eq(1L), any())).thenReturn(List.of(createdResult, missingResult));
+        when(itemMapper.toItemOperationResultDto(createdResult)).thenReturn(new ItemOperationResultDto(ItemOperationType.CREATE, 1L, 201,
+                new ItemDto(1L, "Buy milk", ItemStatus.PENDING, ItemPriority.MEDIUM)));
+        when(itemMapper.toItemOperationResultDto(missingResult)).thenReturn(new ItemOperationResultDto(ItemOperationType.DELETE, 9L, 404, null));
+
+        mockMvc.perform(post("/api/v1/checklists/1/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemBatchRequestDto(List.of(create, delete)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].item.title").value("Buy milk"))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].id").value(9));
+        verify(itemService, times(1)).applyBatch(eq(1L), argThat(operations -> operations.size() == 2));
+    }
+
+    @Test
+    void batchItemsShouldReturn400WhenEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/checklists/1/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemBatchRequestDto(List.of()))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemService);
+    }
+
+    @Test
+    void batchItemsShouldReturn400WhenOperationTypeMissing() throws Exception {
+        ItemOperationDto operation = new ItemOperationDto(null, null, "Buy milk", null, null);
+
+        mockMvc.perform(post("/api/v1/checklists/1/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemBatchRequestDto(List.of(operation)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batchItemsShouldReturn404WhenChecklistNotFound() throws Exception {
+        ItemOperationDto create = new ItemOperationDto(ItemOperationType.CREATE, null, "Buy milk", null, null);
+
+        when(itemService.applyBatch(eq(99L), any())).thenThrow(new ResourceNotFoundException("Not found Checklist with id 99"));
+
+        mockMvc.perform(post("/api/v1/checklists/99/items:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemBatchRequestDto(List.of(create)))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkUpdateItemsShouldReturnAffectedCount() throws Exception {
+        ItemBulkUpdateRequestDto request = new ItemBulkUpdateRequestDto(
+                new ItemFilterDto(Set.of(ItemStatus.PENDING, ItemStatus.IN_PROGRESS), null),
+                new ItemChangesDto(ItemStatus.DONE, null));
+        ItemBulkUpdate bulkUpdate = new ItemBulkUpdate(Set.of(ItemStatus.PENDING, ItemStatus.IN_PROGRESS), null, ItemStatus.DONE, null);
+
+        when(itemMapper.toItemBulkUpdate(request)).thenReturn(bulkUpdate);
+        when(itemService.bulkUpdateItems(1L, bulkUpdate)).thenReturn(7);
+
+        mockMvc.perform(post("/api/v1/checklists/1/items:bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(7));
+    }
+
+    @Test
+    void bulkUpdateItemsShouldReturn400WhenSetMissing() throws Exception {
+        mockMvc.perform(post("/api/v1/checklists/1/items:bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"where\": {\"status\": [\"PENDING\"]}}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemService);
+    }
+}
@@ -3,13 +3,17 @@ package com.abanoj.note.item.controller;
 import com.abanoj.note.config.JwtService;
 import com.abanoj.note.exception.GlobalExceptionHandler;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
 import com.abanoj.note.item.dto.ItemDto;
+import com.abanoj.note.item.dto.ItemMoveDto;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
 import com.abanoj.note.item.mapper.ItemMapper;
 import com.abanoj.note.item.service.ItemService;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
@@ -18,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -54,6 +59,12 @@ class ItemControllerTest {
     @MockitoBean
     private TokenRepository tokenRepository;
 
+    @MockitoBean
+    private TokenRevocationCache tokenRevocationCache;
+
+    @MockitoBean
+    private TokenGenerationCache tokenGenerationCache;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -130,7 +141,7 @@ class ItemControllerTest {
         ItemDto responseDto = new ItemDto(1L, "Updated", ItemStatus.DONE, ItemPriority.LOW);
 
         when(itemMapper.toItem(any(ItemDto.class))).thenReturn(mapped);
-        when(itemService.updateItem(eq(1L), eq(1L), eq(mapped))).thenReturn(updated);
+        when(itemService.updateItem(eq(1L), eq(1L), eq(mapped), isNull())).thenReturn(updated);
         when(itemMapper.toItemDto(updated)).thenReturn(responseDto);
 
         mockMvc.perform(put("/api/v1/checklists/1/items/1")
@@ -156,7 +167,7 @@ class ItemControllerTest {
         Item mapped = new Item(99L, "Not found", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
 
         when(itemMapper.toItem(any(ItemDto.class))).thenReturn(mapped);
-        when(itemService.updateItem(eq(1L), eq(99L), eq(mapped)))
+        when(itemService.updateItem(eq(1L), eq(99L), eq(mapped), isNull()))
                 .thenThrow(new ResourceNotFoundException("Not found"));
 
         mockMvc.perform(put("/api/v1/checklists/1/items/99")
@@ -165,6 +176,28 @@ class ItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void updateItemShouldReturn409WithCurrentItemOnConcurrentUpdate() throws Exception {
+        ItemDto requestDto = new ItemDto(1L, "Updated", ItemStatus.DONE, ItemPriority.LOW);
+        Item mapped = new Item(1L, "Updated", ItemStatus.DONE, ItemPriority.LOW, null, null, null);
+        Item current = new Item(1L, "Theirs", ItemStatus.PENDING, ItemPriority.LOW, null, LocalDateTime.now(), LocalDateTime.now());
+        current.setVersion(8L);
+
+        when(itemMapper.toItem(any(ItemDto.class))).thenReturn(mapped);
+        when(itemService.updateItem(1L, 1L, mapped, 7L)).thenThrow(
+                new VersionConflictException("raced", VersionConflictException.Reason.CONCURRENT_UPDATE, null));
+        when(itemService.findItem(1L, 1L)).thenReturn(current);
+        when(itemMapper.toItemDto(current)).thenReturn(new ItemDto(1L, "Theirs", ItemStatus.PENDING, ItemPriority.LOW));
+
+        mockMvc.perform(put("/api/v1/checklists/1/items/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+                .andExpect(jsonPath("$.title").value("Theirs"));
+    }
+
     @Test
     void deleteItemShouldReturn204() throws Exception {
         doNothing().when(itemService).deleteItem(1L, 1L);
@@ -180,4 +213,25 @@ class ItemControllerTest {
         mockMvc.perform(delete("/api/v1/checklists/1/items/99"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void moveItemShouldReturn204() throws Exception {
+        mockMvc.perform(post("/api/v1/checklists/1/items/5:move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ItemMoveDto(2L, 3L))))
+                .andExpect(status().isNoContent());
+
+        verify(itemService).moveItem(1L, 5L, 2L, 3L);
+    }
+
+    @Test
+    void moveItemShouldReturn400WhenNoNeighbourGiven() throws Exception {
+        doThrow(new IllegalArgumentException("Move needs an afterId or a beforeId"))
+                .when(itemService).moveItem(1L, 5L, null, null);
+
+        mockMvc.perform(post("/api/v1/checklists/1/items/5:move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
 }
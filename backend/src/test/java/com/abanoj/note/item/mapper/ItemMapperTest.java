@@ -1,9 +1,15 @@
 package com.abanoj.note.item.mapper;
 
+import com.abanoj.note.item.dto.ItemBulkUpdateRequestDto;
+import com.abanoj.note.item.dto.ItemChangesDto;
 import com.abanoj.note.item.dto.ItemDto;
+import com.abanoj.note.item.dto.ItemOperationResultDto;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.service.ItemBulkUpdate;
+import com.abanoj.note.item.service.ItemOperationResult;
+import com.abanoj.note.item.service.ItemOperationType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -69,4 +75,35 @@ class ItemMapperTest {
         assertThat(item.getItemStatus()).isEqualTo(ItemStatus.PENDING);
         assertThat(item.getItemPriority()).isEqualTo(ItemPriority.MEDIUM);
     }
+
+    @Test
+    void toItemOperationResultDtoShouldMapOutcomeToStatus() {
+        Item item = new Item(5L, "Buy milk", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
+
+        ItemOperationResultDto created = itemMapper.toItemOperationResultDto(
+                new ItemOperationResult(ItemOperationType.CREATE, ItemOperationResult.Outcome.CREATED, null, item));
+        ItemOperationResultDto deleted = itemMapper.toItemOperationResultDto(
+                new ItemOperationResult(ItemOperationType.DELETE, ItemOperationResult.Outcome.DELETED, 5L, item));
+        ItemOperationResultDto missing = itemMapper.toItemOperationResultDto(
+                new ItemOperationResult(ItemOperationType.UPDATE, ItemOperationResult.Outcome.NOT_FOUND, 9L, null));
+
+        assertThat(created.status()).isEqualTo(201);
+        assertThat(created.id()).isEqualTo(5L);
+        assertThat(created.item().title()).isEqualTo("Buy milk");
+        assertThat(deleted.status()).isEqualTo(204);
+        assertThat(deleted.item()).isNull();
+        assertThat(missing.status()).isEqualTo(404);
+        assertThat(missing.id()).isEqualTo(9L);
+    }
+
+    @Test
+    void toItemBulkUpdateShouldTreatMissingFilterAsMatchAll() {
+        ItemBulkUpdate bulkUpdate = itemMapper.toItemBulkUpdate(
+                new ItemBulkUpdateRequestDto(null, new ItemChangesDto(null, ItemPriority.LOW)));
+
+        assertThat(bulkUpdate.statuses()).isNull();
+        assertThat(bulkUpdate.priorities()).isNull();
+        assertThat(bulkUpdate.status()).isNull();
+        assertThat(bulkUpdate.priority()).isEqualTo(ItemPriority.LOW);
+    }
 }
@@ -1,27 +1,38 @@
 package com.abanoj.note.item.repository;
 
 import com.abanoj.note.checklist.entity.Checklist;
+import com.abanoj.note.config.IdBlockAllocator;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.service.ItemRank;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(IdBlockAllocator.class)
 class ItemRepositoryTest {
 
     @Autowired
@@ -30,12 +41,17 @@ class ItemRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
 
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
     private Checklist checklist;
     private Checklist otherChecklist;
+    private User user;
+    private int nextRank;
 
     @BeforeEach
     void setUp() {
-        User user = User.builder()
+        user = User.builder()
                 .email("test@email.com")
                 .password("password")
                 .role(Role.USER)
@@ -67,6 +83,7 @@ class ItemRepositoryTest {
     private Item createItem(String title, Checklist parentChecklist) {
         LocalDateTime now = LocalDateTime.now();
         Item item = new Item(null, title, ItemStatus.PENDING, ItemPriority.MEDIUM, parentChecklist, now, now);
+        item.setSortKey(ItemRank.spaced(nextRank++));
         return entityManager.persist(item);
     }
 
@@ -116,4 +133,238 @@ class ItemRepositoryTest {
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void deleteOwnedItemShouldDeleteOnlyWhenChecklistBelongsToUser() {
+        Item item = createItem("Item 1", checklist);
+        User stranger = User.builder()
+                .email("stranger@email.com")
+                .password("password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(stranger);
+        entityManager.flush();
+
+        assertThat(itemRepository.findStatusByChecklistIdAndId(checklist.getId(), item.getId())).contains(ItemStatus.PENDING);
+        assertThat(itemRepository.deleteOwnedItem(checklist.getId(), item.getId(), stranger.getId())).isZero();
+        assertThat(itemRepository.deleteOwnedItem(otherChecklist.getId(), item.getId(), user.getId())).isZero();
+        assertThat(itemRepository.deleteOwnedItem(checklist.getId(), item.getId(), user.getId())).isEqualTo(1);
+        entityManager.clear();
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    @Test
+    void saveAllShouldBatchInserts() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = IntStream.range(0, 40)
+                .mapToObj(i -> new Item(null, "Item " + i, ItemStatus.PENDING, ItemPriority.MEDIUM, checklist, now, now))
+                .toList();
+        items.forEach(item -> item.setSortKey(ItemRank.spaced(nextRank++)));
+
+        List<Item> saved = itemRepository.saveAll(items);
+
+        assertThat(saved).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        itemRepository.flush();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(saved).extracting(Item::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void findByChecklistIdAndIdInShouldIgnoreItemsOfOtherChecklists() {
+        Item first = createItem("Item 1", checklist);
+        Item second = createItem("Item 2", checklist);
+        Item foreign = createItem("Other item", otherChecklist);
+        entityManager.flush();
+
+        List<Item> result = itemRepository.findByChecklistIdAndIdIn(checklist.getId(), List.of(first.getId(), second.getId(), foreign.getId()));
+
+        assertThat(result).extracting(Item::getTitle).containsExactlyInAnyOrder("Item 1", "Item 2");
+    }
+
+    @Test
+    void bulkUpdateOwnedItemsShouldChangeOnlyMatchingItemsOfOwnedChecklist() {
+        Item pending = createItem("Pending", checklist);
+        Item inProgress = createItem("In progress", checklist);
+        inProgress.setItemStatus(ItemStatus.IN_PROGRESS);
+        Item done = createItem("Done", checklist);
+        done.setItemStatus(ItemStatus.DONE);
+        Item foreign = createItem("Other item", otherChecklist);
+        entityManager.flush();
+
+        int stranger = itemRepository.bulkUpdateOwnedItems(checklist.getId(), user.getId() + 1,
+                EnumSet.allOf(ItemStatus.class), EnumSet.allOf(ItemPriority.class), ItemStatus.DONE, null, LocalDateTime.now());
+        int updated = itemRepository.bulkUpdateOwnedItems(checklist.getId(), user.getId(),
+                EnumSet.of(ItemStatus.PENDING, ItemStatus.IN_PROGRESS), EnumSet.allOf(ItemPriority.class), ItemStatus.DONE, null, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(stranger).isZero();
+        assertThat(updated).isEqualTo(2);
+        assertThat(itemRepository.findByChecklistId(checklist.getId()))
+                .allSatisfy(item -> {
+                    assertThat(item.getItemStatus()).isEqualTo(ItemStatus.DONE);
+                    assertThat(item.getItemPriority()).isEqualTo(ItemPriority.MEDIUM);
+                });
+        assertThat(itemRepository.findById(foreign.getId())).get().extracting(Item::getItemStatus).isEqualTo(ItemStatus.PENDING);
+    }
+
+    @Test
+    void bulkUpdateOwnedItemsShouldSkipItemsAlreadyHoldingTheNewValues() {
+        createItem("Medium", checklist);
+        Item low = createItem("Low", checklist);
+        low.setItemPriority(ItemPriority.LOW);
+        entityManager.flush();
+
+        int updated = itemRepository.bulkUpdateOwnedItems(checklist.getId(), user.getId(),
+                EnumSet.allOf(ItemStatus.class), EnumSet.allOf(ItemPriority.class), null, ItemPriority.LOW, LocalDateTime.now());
+
+        assertThat(updated).isEqualTo(1);
+    }
+
+    @Test
+    void versionShouldIncreaseOnEveryWriteAndRejectStaleCopies() {
+        Item item = createItem("Versioned", checklist);
+        entityManager.flush();
+        entityManager.clear();
+
+        Item stale = itemRepository.findById(item.getId()).orElseThrow();
+        entityManager.detach(stale);
+        Item fresh = itemRepository.findById(item.getId()).orElseThrow();
+        fresh.setTitle("Theirs");
+        entityManager.flush();
+        itemRepository.bulkUpdateOwnedItems(checklist.getId(), user.getId(),
+                EnumSet.allOf(ItemStatus.class), EnumSet.allOf(ItemPriority.class), ItemStatus.DONE, null, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(stale.getVersion()).isZero();
+        assertThat(itemRepository.findById(item.getId())).get().extracting(Item::getVersion).isEqualTo(2L);
+        stale.setTitle("Mine");
+        assertThatThrownBy(() -> itemRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void moveShouldBumpVersionSoStaleCopiesCannotUndoIt() {
+        Item first = createItem("First", checklist);
+        Item second = createItem("Second", checklist);
+        entityManager.flush();
+        entityManager.clear();
+
+        Item stale = itemRepository.findById(second.getId()).orElseThrow();
+        entityManager.detach(stale);
+        String movedKey = ItemRank.between(null, first.getSortKey());
+        assertThat(itemRepository.updateSortKey(checklist.getId(), second.getId(), movedKey, LocalDateTime.now())).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(itemRepository.findById(second.getId())).get()
+                .extracting(Item::getVersion, Item::getSortKey).containsExactly(1L, movedKey);
+        stale.setTitle("Renamed");
+        assertThatThrownBy(() -> itemRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        entityManager.clear();
+        assertThat(itemRepository.findByChecklistId(checklist.getId()))
+                .extracting(Item::getTitle).containsExactly("Second", "First");
+    }
+
+    @Test
+    void findByChecklistIdShouldOrderItemsByRank() {
+        Item first = createItem("First", checklist);
+        Item second = createItem("Second", checklist);
+        Item third = createItem("Third", checklist);
+        third.setSortKey(ItemRank.between(first.getSortKey(), second.getSortKey()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(itemRepository.findByChecklistId(checklist.getId()))
+                .extracting(Item::getTitle).containsExactly("First", "Third", "Second");
+    }
+
+    @Test
+    void neighbourRankQueriesShouldSkipTheMovedItem() {
+        Item first = createItem("First", checklist);
+        Item second = createItem("Second", checklist);
+        Item third = createItem("Third", checklist);
+        entityManager.flush();
+
+        assertThat(itemRepository.findNextSortKey(checklist.getId(), first.getSortKey(), second.getId())).contains(third.getSortKey());
+        assertThat(itemRepository.findPreviousSortKey(checklist.getId(), third.getSortKey(), second.getId())).contains(first.getSortKey());
+        assertThat(itemRepository.findMaxSortKey(checklist.getId())).contains(third.getSortKey());
+        assertThat(itemRepository.findMaxSortKey(otherChecklist.getId())).isEmpty();
+    }
+
+    @Test
+    void updateSortKeyShouldRewriteOnlyTheMovedItem() {
+        Item first = createItem("First", checklist);
+        Item second = createItem("Second", checklist);
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        int updated = itemRepository.updateSortKey(checklist.getId(), second.getId(), ItemRank.between(null, first.getSortKey()), LocalDateTime.now());
+        int foreign = itemRepository.updateSortKey(otherChecklist.getId(), second.getId(), "x", LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(foreign).isZero();
+        assertThat(itemRepository.findByChecklistId(checklist.getId())).extracting(Item::getTitle).containsExactly("Second", "First");
+    }
+
+    @Test
+    void findChecklistIdsWithSortKeysLongerThanShouldFindOnlyExhaustedChecklists() {
+        Item item = createItem("Deep", checklist);
+        item.setSortKey(ItemRank.spaced(0) + "1".repeat(40));
+        createItem("Shallow", otherChecklist);
+        entityManager.flush();
+
+        List<Long> ids = itemRepository.findChecklistIdsWithSortKeysLongerThan(32, 0L, PageRequest.of(0, 10));
+
+        assertThat(ids).containsExactly(checklist.getId());
+    }
+
+    @Test
+    void copyItemsShouldCopyAllRowsInOneStatementWithReservedIds() {
+        Item done = createItem("Milk", checklist);
+        done.setItemStatus(ItemStatus.DONE);
+        createItem("Eggs", checklist);
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        long firstId = idBlockAllocator.allocate("item", 2);
+        int copied = itemRepository.copyItems(checklist.getId(), otherChecklist.getId(), firstId, 2, ItemStatus.PENDING.name(), LocalDateTime.now());
+
+        assertThat(copied).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        List<Item> copies = itemRepository.findByChecklistId(otherChecklist.getId());
+        assertThat(copies).extracting(Item::getTitle).containsExactly("Milk", "Eggs");
+        assertThat(copies).extracting(Item::getId).containsExactly(firstId, firstId + 1);
+        assertThat(copies).extracting(Item::getItemStatus).containsOnly(ItemStatus.PENDING);
+        assertThat(itemRepository.findByChecklistId(checklist.getId())).extracting(Item::getItemStatus)
+                .containsExactly(ItemStatus.DONE, ItemStatus.PENDING);
+    }
+
+    @Test
+    void idsReservedWhileHibernateHoldsABlockShouldNeverBeGeneratedAgain() {
+        Item first = createItem("Before", checklist);
+        entityManager.flush();
+
+        long firstId = idBlockAllocator.allocate("item", 3);
+        // Outlast Hibernate's in-memory block of 50 so the next one is fetched from the table as well.
+        List<Item> generated = IntStream.range(0, 60)
+                .mapToObj(i -> createItem("After " + i, otherChecklist))
+                .toList();
+        entityManager.flush();
+
+        List<Long> ids = new ArrayList<>(List.of(first.getId(), firstId, firstId + 1, firstId + 2));
+        generated.forEach(item -> ids.add(item.getId()));
+        assertThat(ids).doesNotHaveDuplicates();
+    }
 }
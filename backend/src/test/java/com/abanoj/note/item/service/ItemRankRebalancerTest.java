@@ -0,0 +1,88 @@
+package com.abanoj.note.item.service;
+
+import com.abanoj.note.item.entity.Item;
+import com.abanoj.note.item.entity.ItemPriority;
+import com.abanoj.note.item.entity.ItemStatus;
+import com.abanoj.note.item.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemRankRebalancerTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemRankRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rebalancer = new ItemRankRebalancer(itemRepository, transactionTemplate, meterRegistry, 32, 2);
+    }
+
+    @Test
+    void rebalanceShouldSpreadRanksEvenlyKeepingOrder() {
+        Item first = item("First", ItemRank.spaced(0) + "1".repeat(40));
+        Item second = item("Second", ItemRank.spaced(0) + "2");
+        when(itemRepository.findByChecklistId(1L)).thenReturn(List.of(first, second));
+
+        rebalancer.rebalance(1L);
+
+        assertThat(first.getSortKey()).isEqualTo(ItemRank.spaced(0));
+        assertThat(second.getSortKey()).isEqualTo(ItemRank.spaced(1));
+        assertThat(meterRegistry.counter("items.ranks.rebalanced").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rebalanceLongRanksShouldWalkAffectedChecklistsInChunks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(itemRepository.findChecklistIdsWithSortKeysLongerThan(32, 0L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 4L));
+        when(itemRepository.findChecklistIdsWithSortKeysLongerThan(32, 4L, PageRequest.of(0, 2))).thenReturn(List.of(7L));
+        when(itemRepository.findByChecklistId(anyLong())).thenReturn(List.of());
+
+        rebalancer.rebalanceLongRanks();
+
+        verify(itemRepository, times(3)).findByChecklistId(anyLong());
+        assertThat(meterRegistry.counter("items.ranks.rebalanced").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void rebalanceLongRanksShouldDoNothingWhenRanksAreShort() {
+        when(itemRepository.findChecklistIdsWithSortKeysLongerThan(eq(32), eq(0L), any())).thenReturn(List.of());
+
+        rebalancer.rebalanceLongRanks();
+
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    private static Item item(String title, String sortKey) {
+        Item item = new Item(null, title, ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null);
+        item.setSortKey(sortKey);
+        return item;
+    }
+}
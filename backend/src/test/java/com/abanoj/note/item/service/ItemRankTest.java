@@ -0,0 +1,62 @@
+package com.abanoj.note.item.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemRankTest {
+
+    @Test
+    void betweenShouldSortStrictlyBetweenBounds() {
+        String first = ItemRank.spaced(0);
+        String second = ItemRank.spaced(1);
+
+        String middle = ItemRank.between(first, second);
+        String top = ItemRank.between(null, first);
+
+        assertThat(middle).isGreaterThan(first).isLessThan(second);
+        assertThat(top).isLessThan(first);
+        assertThat(ItemRank.between(second, null)).isGreaterThan(second);
+    }
+
+    @Test
+    void appendingShouldKeepRankLengthConstant() {
+        String rank = ItemRank.between(null, null);
+        for (int i = 0; i < 1000; i++) {
+            String next = ItemRank.between(rank, null);
+            assertThat(next).isGreaterThan(rank).hasSameSizeAs(rank);
+            rank = next;
+        }
+    }
+
+    @Test
+    void repeatedInsertsAtRandomPositionsShouldKeepOrder() {
+        Random random = new Random(42);
+        List<String> ranks = new ArrayList<>(List.of(ItemRank.spaced(0)));
+        for (int i = 0; i < 2000; i++) {
+            int index = random.nextInt(ranks.size() + 1);
+            String lower = index == 0 ? null : ranks.get(index - 1);
+            String upper = index == ranks.size() ? null : ranks.get(index);
+            ranks.add(index, ItemRank.between(lower, upper));
+        }
+
+        assertThat(ranks).isSorted().doesNotHaveDuplicates()
+                .allSatisfy(rank -> assertThat(rank).doesNotEndWith("0"));
+    }
+
+    @Test
+    void spacedRanksShouldIncreaseWithPosition() {
+        assertThat(List.of(ItemRank.spaced(0), ItemRank.spaced(1), ItemRank.spaced(500))).isSorted();
+    }
+
+    @Test
+    void betweenShouldRejectBoundsOutOfOrder() {
+        assertThatThrownBy(() -> ItemRank.between(ItemRank.spaced(2), ItemRank.spaced(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
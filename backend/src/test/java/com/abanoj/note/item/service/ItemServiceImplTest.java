@@ -3,28 +3,38 @@ package com.abanoj.note.item.service;
 import com.abanoj.note.auth.SecurityUtils;
 import com.abanoj.note.checklist.entity.Checklist;
 import com.abanoj.note.checklist.repository.ChecklistRepository;
+import com.abanoj.note.checklist.service.ChecklistOwnershipCache;
+import com.abanoj.note.concurrency.VersionConflicts;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
 import com.abanoj.note.item.entity.Item;
 import com.abanoj.note.item.entity.ItemPriority;
 import com.abanoj.note.item.entity.ItemStatus;
 import com.abanoj.note.item.repository.ItemRepository;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +49,15 @@ class ItemServiceImplTest {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private ChecklistOwnershipCache checklistOwnershipCache;
+
+    @Mock
+    private ItemRankRebalancer itemRankRebalancer;
+
+    @Spy
+    private VersionConflicts versionConflicts = new VersionConflicts(new SimpleMeterRegistry());
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -62,8 +81,8 @@ class ItemServiceImplTest {
     }
 
     private void mockOwnerCheck() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(checklist));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(true);
     }
 
     @Test
@@ -80,8 +99,8 @@ class ItemServiceImplTest {
 
     @Test
     void findItemShouldThrowWhenChecklistNotOwned() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(false);
 
         assertThatThrownBy(() -> itemService.findItem(1L, 1L))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -110,8 +129,8 @@ class ItemServiceImplTest {
 
     @Test
     void findAllItemsShouldThrowWhenNotOwned() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(false);
 
         assertThatThrownBy(() -> itemService.findAllItems(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -123,20 +142,22 @@ class ItemServiceImplTest {
         Item saved = new Item(1L, "New Item", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
 
         mockOwnerCheck();
+        when(checklistRepository.getReferenceById(1L)).thenReturn(checklist);
         when(itemRepository.save(any(Item.class))).thenReturn(saved);
 
         Item result = itemService.createItem(1L, input);
 
         assertThat(result.getId()).isEqualTo(1L);
-        verify(itemRepository).save(any(Item.class));
+        verify(itemRepository).save(argThat(toSave -> toSave.getSortKey().equals(ItemRank.between(null, null))));
+        verify(checklistRepository).adjustItemCounters(1L, 1, 0);
     }
 
     @Test
     void createItemShouldThrowWhenChecklistNotOwned() {
         Item input = new Item(null, "Item", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(checklistRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(false);
 
         assertThatThrownBy(() -> itemService.createItem(1L, input))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -149,19 +170,35 @@ class ItemServiceImplTest {
 
         mockOwnerCheck();
         when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(existing));
-        when(itemRepository.save(any(Item.class))).thenReturn(existing);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(existing);
 
-        Item result = itemService.updateItem(1L, 1L, input);
+        Item result = itemService.updateItem(1L, 1L, input, null);
 
         assertThat(result.getTitle()).isEqualTo("Updated");
         assertThat(result.getItemStatus()).isEqualTo(ItemStatus.DONE);
+        verify(checklistRepository).adjustItemCounters(1L, 0, 1);
+    }
+
+    @Test
+    void updateItemShouldNotTouchCountersWithoutStatusTransition() {
+        Item input = new Item(1L, "Renamed", ItemStatus.DONE, ItemPriority.LOW, null, null, null);
+        Item existing = new Item(1L, "Old", ItemStatus.DONE, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+
+        mockOwnerCheck();
+        when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(existing);
+
+        itemService.updateItem(1L, 1L, input, null);
+
+        verify(checklistRepository, never()).adjustItemCounters(any(), anyInt(), anyInt());
+        verify(checklistRepository).markItemsChanged(1L);
     }
 
     @Test
     void updateItemShouldThrowWhenNullId() {
         Item input = new Item(null, "No ID", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
 
-        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input))
+        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must have an ID");
     }
@@ -170,7 +207,7 @@ class ItemServiceImplTest {
     void updateItemShouldThrowWhenIdMismatch() {
         Item input = new Item(2L, "Mismatch", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
 
-        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input))
+        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("do not match");
     }
@@ -182,29 +219,279 @@ class ItemServiceImplTest {
         mockOwnerCheck();
         when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input))
+        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input, null))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
-    void deleteItemShouldRemoveFromChecklist() {
-        Item item = new Item(1L, "To delete", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
-        checklist.getItems().add(item);
+    void updateItemShouldRejectStaleExpectedVersion() {
+        Item input = new Item(1L, "Updated", ItemStatus.DONE, ItemPriority.LOW, null, null, null);
+        Item existing = new Item(1L, "Old", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+        existing.setVersion(5L);
 
         mockOwnerCheck();
-        when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input, 4L))
+                .isInstanceOf(VersionConflictException.class)
+                .extracting("reason").isEqualTo(VersionConflictException.Reason.PRECONDITION_FAILED);
+        verify(itemRepository, never()).saveAndFlush(any());
+        verify(checklistRepository, never()).adjustItemCounters(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void updateItemShouldReportConcurrentUpdateOnOptimisticLockFailure() {
+        Item input = new Item(1L, "Updated", ItemStatus.PENDING, ItemPriority.LOW, null, null, null);
+        Item existing = new Item(1L, "Old", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+        existing.setVersion(5L);
+
+        mockOwnerCheck();
+        when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(itemRepository.saveAndFlush(existing)).thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        assertThatThrownBy(() -> itemService.updateItem(1L, 1L, input, 5L))
+                .isInstanceOf(VersionConflictException.class)
+                .extracting("reason").isEqualTo(VersionConflictException.Reason.CONCURRENT_UPDATE);
+    }
+
+    @Test
+    void deleteItemShouldBulkDeleteWithOwnershipInWhereClause() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(itemRepository.findStatusByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(ItemStatus.DONE));
+        when(itemRepository.deleteOwnedItem(1L, 1L, 1L)).thenReturn(1);
 
         itemService.deleteItem(1L, 1L);
 
-        assertThat(checklist.getItems()).doesNotContain(item);
+        verify(itemRepository, never()).delete(any(Item.class));
+        verify(checklistRepository, never()).findByIdAndUserId(any(), any());
+        verify(checklistRepository).adjustItemCounters(1L, -1, -1);
     }
 
     @Test
     void deleteItemShouldThrowWhenNotFound() {
-        mockOwnerCheck();
-        when(itemRepository.findByChecklistIdAndId(1L, 1L)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(itemRepository.findStatusByChecklistIdAndId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> itemService.deleteItem(1L, 1L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    @Test
+    void deleteItemShouldThrowWhenChecklistNotOwned() {
+        when(securityUtils.getCurrentUserId()).thenReturn(2L);
+        when(itemRepository.findStatusByChecklistIdAndId(1L, 1L)).thenReturn(Optional.of(ItemStatus.PENDING));
+        when(itemRepository.deleteOwnedItem(1L, 1L, 2L)).thenReturn(0);
+
+        assertThatThrownBy(() -> itemService.deleteItem(1L, 1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(checklistRepository, never()).adjustItemCounters(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void applyBatchShouldApplyMixedOperationsWithOneCounterUpdate() {
+        Item toUpdate = new Item(2L, "Old", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+        Item toDelete = new Item(3L, "Gone", ItemStatus.DONE, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+        List<ItemOperation> operations = List.of(
+                new ItemOperation(ItemOperationType.CREATE, null, new Item(null, "Eggs", ItemStatus.PENDING, ItemPriority.LOW, null, null, null)),
+                new ItemOperation(ItemOperationType.CREATE, null, new Item(null, "Milk", ItemStatus.DONE, ItemPriority.LOW, null, null, null)),
+                new ItemOperation(ItemOperationType.UPDATE, 2L, new Item(2L, "New", ItemStatus.DONE, ItemPriority.LOW, null, null, null)),
+                new ItemOperation(ItemOperationType.DELETE, 3L, new Item(3L, null, ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null)),
+                new ItemOperation(ItemOperationType.DELETE, 99L, new Item(99L, null, ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null)));
+
+        mockOwnerCheck();
+        when(itemRepository.findByChecklistIdAndIdIn(eq(1L), any())).thenReturn(List.of(toUpdate, toDelete));
+        when(checklistRepository.getReferenceById(1L)).thenReturn(checklist);
+
+        List<ItemOperationResult> results = itemService.applyBatch(1L, operations);
+
+        assertThat(results).extracting(ItemOperationResult::outcome).containsExactly(
+                ItemOperationResult.Outcome.CREATED,
+                ItemOperationResult.Outcome.CREATED,
+                ItemOperationResult.Outcome.UPDATED,
+                ItemOperationResult.Outcome.DELETED,
+                ItemOperationResult.Outcome.NOT_FOUND);
+        assertThat(toUpdate.getTitle()).isEqualTo("New");
+        verify(itemRepository).saveAll(argThat(items -> ((List<Item>) items).size() == 2));
+        verify(itemRepository).deleteAll(List.of(toDelete));
+        verify(checklistRepository).adjustItemCounters(1L, 1, 1);
+        verify(checklistOwnershipCache, times(1)).isOwnedBy(1L, 1L);
+    }
+
+    @Test
+    void applyBatchShouldCreateItemsWhenNoOperationCarriesAnId() {
+        List<ItemOperation> operations = List.of(
+                new ItemOperation(ItemOperationType.CREATE, null, new Item(null, "Eggs", ItemStatus.PENDING, ItemPriority.LOW, null, null, null)),
+                new ItemOperation(ItemOperationType.CREATE, null, new Item(null, "Milk", ItemStatus.DONE, ItemPriority.LOW, null, null, null)));
+
+        mockOwnerCheck();
+        when(checklistRepository.getReferenceById(1L)).thenReturn(checklist);
+
+        List<ItemOperationResult> results = itemService.applyBatch(1L, operations);
+
+        assertThat(results).extracting(ItemOperationResult::outcome)
+                .containsExactly(ItemOperationResult.Outcome.CREATED, ItemOperationResult.Outcome.CREATED);
+        verify(itemRepository, never()).findByChecklistIdAndIdIn(any(), any());
+        verify(checklistRepository).adjustItemCounters(1L, 2, 1);
+    }
+
+    @Test
+    void applyBatchShouldReportSecondDeleteOfSameItemAsNotFound() {
+        Item item = new Item(2L, "Item", ItemStatus.PENDING, ItemPriority.HIGH, checklist, LocalDateTime.now(), LocalDateTime.now());
+        ItemOperation delete = new ItemOperation(ItemOperationType.DELETE, 2L, new Item(2L, null, ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null));
+
+        mockOwnerCheck();
+        when(itemRepository.findByChecklistIdAndIdIn(eq(1L), any())).thenReturn(List.of(item));
+        when(checklistRepository.getReferenceById(1L)).thenReturn(checklist);
+
+        List<ItemOperationResult> results = itemService.applyBatch(1L, List.of(delete, delete));
+
+        assertThat(results).extracting(ItemOperationResult::outcome)
+                .containsExactly(ItemOperationResult.Outcome.DELETED, ItemOperationResult.Outcome.NOT_FOUND);
+        verify(checklistRepository).adjustItemCounters(1L, -1, 0);
+    }
+
+    @Test
+    void applyBatchShouldRejectUpdateWithoutIdBeforeTouchingData() {
+        List<ItemOperation> operations = List.of(
+                new ItemOperation(ItemOperationType.UPDATE, null, new Item(null, "Title", ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null)));
+
+        assertThatThrownBy(() -> itemService.applyBatch(1L, operations))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Operation 0");
+        verifyNoInteractions(itemRepository, checklistRepository);
+    }
+
+    @Test
+    void applyBatchShouldThrowWhenChecklistNotOwned() {
+        List<ItemOperation> operations = List.of(
+                new ItemOperation(ItemOperationType.CREATE, null, new Item(null, "Title", ItemStatus.PENDING, ItemPriority.MEDIUM, null, null, null)));
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.applyBatch(1L, operations))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void bulkUpdateItemsShouldRefreshCountersWhenStatusChanges() {
+        ItemBulkUpdate bulkUpdate = new ItemBulkUpdate(Set.of(ItemStatus.PENDING), null, ItemStatus.DONE, null);
+
+        mockOwnerCheck();
+        when(itemRepository.bulkUpdateOwnedItems(eq(1L), eq(1L), eq(Set.of(ItemStatus.PENDING)), eq(EnumSet.allOf(ItemPriority.class)),
+                eq(ItemStatus.DONE), eq(null), any())).thenReturn(3);
+
+        int updated = itemService.bulkUpdateItems(1L, bulkUpdate);
+
+        assertThat(updated).isEqualTo(3);
+        verify(checklistRepository).repairItemCounters(List.of(1L));
+    }
+
+    @Test
+    void bulkUpdateItemsShouldNotTouchCountersForPriorityOnlyChanges() {
+        ItemBulkUpdate bulkUpdate = new ItemBulkUpdate(null, Set.of(ItemPriority.HIGH), null, ItemPriority.LOW);
+
+        mockOwnerCheck();
+        when(itemRepository.bulkUpdateOwnedItems(eq(1L), eq(1L), eq(EnumSet.allOf(ItemStatus.class)), eq(Set.of(ItemPriority.HIGH)),
+                eq(null), eq(ItemPriority.LOW), any())).thenReturn(2);
+
+        assertThat(itemService.bulkUpdateItems(1L, bulkUpdate)).isEqualTo(2);
+        verify(checklistRepository, never()).repairItemCounters(any());
+    }
+
+    @Test
+    void bulkUpdateItemsShouldRejectEmptyChanges() {
+        assertThatThrownBy(() -> itemService.bulkUpdateItems(1L, new ItemBulkUpdate(null, null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void bulkUpdateItemsShouldThrowWhenChecklistNotOwned() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(checklistOwnershipCache.isOwnedBy(1L, 1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.bulkUpdateItems(1L, new ItemBulkUpdate(null, null, ItemStatus.DONE, null)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void createItemShouldAppendAfterLastRank() {
+        Item input = new Item(null, "Last", ItemStatus.PENDING, ItemPriority.HIGH, null, null, null);
+        String lastRank = ItemRank.spaced(4);
+
+        mockOwnerCheck();
+        when(checklistRepository.getReferenceById(1L)).thenReturn(checklist);
+        when(itemRepository.findMaxSortKey(1L)).thenReturn(Optional.of(lastRank));
+        when(itemRepository.save(any(Item.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Item result = itemService.createItem(1L, input);
+
+        assertThat(result.getSortKey()).isGreaterThan(lastRank);
+    }
+
+    @Test
+    void moveItemShouldUpdateOnlyTheMovedItemBetweenNeighbours() {
+        String lower = ItemRank.spaced(0);
+        String upper = ItemRank.spaced(1);
+
+        mockOwnerCheck();
+        when(itemRepository.findSortKey(1L, 2L)).thenReturn(Optional.of(lower));
+        when(itemRepository.findSortKey(1L, 3L)).thenReturn(Optional.of(upper));
+        when(itemRepository.updateSortKey(eq(1L), eq(5L), any(), any())).thenReturn(1);
+
+        itemService.moveItem(1L, 5L, 2L, 3L);
+
+        verify(itemRepository).updateSortKey(eq(1L), eq(5L), argThat(rank -> rank.compareTo(lower) > 0 && rank.compareTo(upper) < 0), any());
+        verify(checklistRepository).markItemsChanged(1L);
+        verifyNoInteractions(itemRankRebalancer);
+    }
+
+    @Test
+    void moveItemToTopShouldPlaceBeforeFirstItem() {
+        String first = ItemRank.spaced(0);
+
+        mockOwnerCheck();
+        when(itemRepository.findSortKey(1L, 2L)).thenReturn(Optional.of(first));
+        when(itemRepository.findPreviousSortKey(1L, first, 5L)).thenReturn(Optional.empty());
+        when(itemRepository.updateSortKey(eq(1L), eq(5L), any(), any())).thenReturn(1);
+
+        itemService.moveItem(1L, 5L, null, 2L);
+
+        verify(itemRepository).updateSortKey(eq(1L), eq(5L), argThat(rank -> rank.compareTo(first) < 0), any());
+    }
+
+    @Test
+    void moveItemShouldRebalanceWhenNeighboursShareARank() {
+        String shared = ItemRank.spaced(0);
+
+        mockOwnerCheck();
+        when(itemRepository.findSortKey(1L, 2L)).thenReturn(Optional.of(shared), Optional.of(ItemRank.spaced(0)));
+        when(itemRepository.findSortKey(1L, 3L)).thenReturn(Optional.of(shared), Optional.of(ItemRank.spaced(1)));
+        when(itemRepository.updateSortKey(eq(1L), eq(5L), any(), any())).thenReturn(1);
+
+        itemService.moveItem(1L, 5L, 2L, 3L);
+
+        verify(itemRankRebalancer).rebalance(1L);
+        verify(itemRepository).updateSortKey(eq(1L), eq(5L), any(), any());
+    }
+
+    @Test
+    void moveItemShouldRejectMissingNeighbours() {
+        assertThatThrownBy(() -> itemService.moveItem(1L, 5L, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void moveItemShouldThrowWhenItemNotFound() {
+        mockOwnerCheck();
+        when(itemRepository.findSortKey(1L, 2L)).thenReturn(Optional.of(ItemRank.spaced(0)));
+        when(itemRepository.updateSortKey(eq(1L), eq(99L), any(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> itemService.moveItem(1L, 99L, 2L, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
 }
@@ -0,0 +1,44 @@
+package com.abanoj.note.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void encodedCursorShouldDecodeToSamePosition() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2026, 1, 2, 10, 30, 15, 123_456_000), 42L);
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> Cursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void cursorPageShouldExposeNextCursorOnlyWhenMoreRowsExist() {
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 2, 10, 30);
+
+        CursorPage<Long> full = CursorPage.of(List.of(3L, 2L, 1L), 2, id -> new Cursor(updated, id));
+        CursorPage<Long> last = CursorPage.of(List.of(3L, 2L), 2, id -> new Cursor(updated, id));
+
+        assertThat(full.content()).containsExactly(3L, 2L);
+        assertThat(Cursor.decode(full.nextCursor())).isEqualTo(new Cursor(updated, 2L));
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void limitShouldClampRequestedSize() {
+        assertThat(CursorPage.limit(0)).isEqualTo(1);
+        assertThat(CursorPage.limit(1000)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.abanoj.note.pagination;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardedPageableResolverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PageableHandlerMethodArgumentResolver delegate;
+    private MethodParameter parameter;
+
+    @SuppressWarnings("unused")
+    void list(@SortableFields({"updated", "title"}) Pageable pageable) {
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = new PageableHandlerMethodArgumentResolver();
+        delegate.setMaxPageSize(50);
+        parameter = new MethodParameter(getClass().getDeclaredMethod("list", Pageable.class), 0);
+    }
+
+    private Pageable resolve(boolean rejectUnknownSort, String size, String sort) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (size != null) request.setParameter("size", size);
+        if (sort != null) request.setParameter("sort", sort);
+        GuardedPageableResolver resolver = new GuardedPageableResolver(delegate, meterRegistry, 50, rejectUnknownSort);
+        return resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+    }
+
+    @Test
+    void resolveShouldClampSizeAndCountIt() {
+        Pageable pageable = resolve(true, "100000", null);
+
+        assertThat(pageable.getPageSize()).isEqualTo(50);
+        assertThat(meterRegistry.counter("pagination.requests.clamped", "reason", "size").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void resolveShouldKeepWhitelistedSort() {
+        Pageable pageable = resolve(true, "10", "title,asc");
+
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "title"));
+    }
+
+    @Test
+    void resolveShouldRejectUnknownSortKey() {
+        assertThatThrownBy(() -> resolve(true, "10", "content"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("content");
+    }
+
+    @Test
+    void resolveShouldFallBackToDefaultSortWhenNotRejecting() {
+        Pageable pageable = resolve(false, "10", "content,asc");
+
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "updated"));
+        assertThat(meterRegistry.counter("pagination.requests.clamped", "reason", "sort").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.abanoj.note.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCountCacheTest {
+
+    private final AtomicLong countQueries = new AtomicLong();
+
+    private final UserCountCache countCache = new UserCountCache(userId -> {
+        countQueries.incrementAndGet();
+        return 5L;
+    }, 60, 100) {
+    };
+
+    @Test
+    void getShouldCountOnceAndServeFromCache() {
+        assertThat(countCache.get(1L)).isEqualTo(5L);
+        assertThat(countCache.get(1L)).isEqualTo(5L);
+
+        assertThat(countQueries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void adjustShouldApplyDeltaToCachedCount() {
+        countCache.get(1L);
+
+        countCache.adjust(1L, 1);
+        countCache.adjust(2L, 1);
+
+        assertThat(countCache.get(1L)).isEqualTo(6L);
+        assertThat(countCache.get(2L)).isEqualTo(5L);
+    }
+}
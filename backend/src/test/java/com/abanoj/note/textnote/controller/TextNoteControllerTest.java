@@ -2,14 +2,18 @@ package com.abanoj.note.textnote.controller;
 
 import com.abanoj.note.config.JwtService;
 import com.abanoj.note.exception.GlobalExceptionHandler;
+import com.abanoj.note.pagination.CursorPage;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
 import com.abanoj.note.textnote.dto.TextNoteCreateRequestDto;
 import com.abanoj.note.textnote.dto.TextNoteResponseDto;
 import com.abanoj.note.textnote.dto.TextNoteUpdateRequestDto;
 import com.abanoj.note.textnote.entity.TextNote;
 import com.abanoj.note.textnote.mapper.TextNoteMapper;
 import com.abanoj.note.textnote.service.TextNoteService;
+import com.abanoj.note.token.TokenGenerationCache;
 import com.abanoj.note.token.TokenRepository;
+import com.abanoj.note.token.TokenRevocationCache;
 import com.abanoj.note.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
@@ -21,6 +25,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -57,6 +63,12 @@ class TextNoteControllerTest {
     @MockitoBean
     private TokenRepository tokenRepository;
 
+    @MockitoBean
+    private TokenRevocationCache tokenRevocationCache;
+
+    @MockitoBean
+    private TokenGenerationCache tokenGenerationCache;
+
     @MockitoBean
     private UserRepository userRepository;
 
@@ -93,6 +105,30 @@ class TextNoteControllerTest {
         verify(textNoteService).findAllTextNote(any(Pageable.class));
     }
 
+    @Test
+    void getSliceShouldIncludeCachedTotalWhenRequested() throws Exception {
+        when(textNoteService.findAllTextNoteSlice(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(textNoteService.countTextNotes()).thenReturn(3L);
+
+        mockMvc.perform(get("/api/v1/text-notes/slice").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void scrollShouldReturn200WithoutNextCursorOnLastPage() throws Exception {
+        TextNote textNote = TextNote.builder().id(1L).title("My Note").build();
+
+        when(textNoteService.scrollTextNotes(null, 10)).thenReturn(new CursorPage<>(List.of(textNote), null));
+        when(textNoteMapper.toTextNoteResponseDto(textNote)).thenReturn(sampleResponse);
+
+        mockMvc.perform(get("/api/v1/text-notes/scroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("My Note"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void getTextNoteShouldReturn200() throws Exception {
         TextNote textNote = TextNote.builder().id(1L).title("My Note").content("Content").build();
@@ -106,6 +142,17 @@ class TextNoteControllerTest {
                 .andExpect(jsonPath("$.title").value("My Note"));
     }
 
+    @Test
+    void getTextNoteShouldReturn304WithoutLoadingContentWhenETagMatches() throws Exception {
+        when(textNoteService.findTextNoteVersion(1L)).thenReturn(2L);
+
+        mockMvc.perform(get("/api/v1/text-notes/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        verify(textNoteService, never()).findTextNoteById(any());
+    }
+
     @Test
     void getTextNoteShouldReturn404WhenNotFound() throws Exception {
         when(textNoteService.findTextNoteById(99L)).thenThrow(new ResourceNotFoundException("Not found"));
@@ -150,7 +197,7 @@ class TextNoteControllerTest {
         TextNoteResponseDto responseDto = new TextNoteResponseDto(1L, "Updated", "New content", now, now);
 
         when(textNoteMapper.toTextNote(any(TextNoteUpdateRequestDto.class))).thenReturn(mapped);
-        when(textNoteService.updateTextNote(eq(1L), eq(mapped))).thenReturn(updated);
+        when(textNoteService.updateTextNote(eq(1L), eq(mapped), isNull())).thenReturn(updated);
         when(textNoteMapper.toTextNoteResponseDto(updated)).thenReturn(responseDto);
 
         mockMvc.perform(put("/api/v1/text-notes/1")
@@ -176,7 +223,7 @@ class TextNoteControllerTest {
         TextNote mapped = TextNote.builder().title("Not found").content("Content").build();
 
         when(textNoteMapper.toTextNote(any(TextNoteUpdateRequestDto.class))).thenReturn(mapped);
-        when(textNoteService.updateTextNote(eq(99L), eq(mapped)))
+        when(textNoteService.updateTextNote(eq(99L), eq(mapped), isNull()))
                 .thenThrow(new ResourceNotFoundException("Not found"));
 
         mockMvc.perform(put("/api/v1/text-notes/99")
@@ -185,6 +232,28 @@ class TextNoteControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void updateTextNoteShouldReturn412WithCurrentNoteWhenVersionIsStale() throws Exception {
+        TextNoteUpdateRequestDto requestDto = new TextNoteUpdateRequestDto(1L, "Updated", "New content");
+        TextNote mapped = TextNote.builder().title("Updated").content("New content").build();
+        TextNote current = TextNote.builder().id(1L).title("Theirs").content("Other content").version(2L).build();
+
+        when(textNoteMapper.toTextNote(any(TextNoteUpdateRequestDto.class))).thenReturn(mapped);
+        when(textNoteService.updateTextNote(1L, mapped, 1L)).thenThrow(
+                new VersionConflictException("stale", VersionConflictException.Reason.PRECONDITION_FAILED, null));
+        when(textNoteService.findTextNoteById(1L)).thenReturn(current);
+        when(textNoteMapper.toTextNoteResponseDto(current)).thenReturn(
+                new TextNoteResponseDto(1L, "Theirs", "Other content", now, now));
+
+        mockMvc.perform(put("/api/v1/text-notes/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.content").value("Other content"));
+    }
+
     @Test
     void deleteTextNoteShouldReturn204() throws Exception {
         doNothing().when(textNoteService).deleteTextNote(1L);
@@ -10,9 +10,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,55 +64,87 @@ class TextNoteRepositoryTest {
     }
 
     @Test
-    void findAllByUserShouldReturnOnlyOwnNotes() {
+    void findAllByUserIdShouldReturnOnlyOwnNotes() {
         createTextNote("My note", user);
         createTextNote("Other note", otherUser);
         entityManager.flush();
 
-        Page<TextNote> result = textNoteRepository.findAllByUser(user, PageRequest.of(0, 10));
+        Page<TextNote> result = textNoteRepository.findAllByUserId(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("My note");
     }
 
     @Test
-    void findAllByUserShouldSupportPagination() {
+    void findAllByUserIdShouldSupportPagination() {
         for (int i = 0; i < 5; i++) {
             createTextNote("Note " + i, user);
         }
         entityManager.flush();
 
-        Page<TextNote> page = textNoteRepository.findAllByUser(user, PageRequest.of(0, 2));
+        Page<TextNote> page = textNoteRepository.findAllByUserId(user.getId(), PageRequest.of(0, 2));
 
         assertThat(page.getContent()).hasSize(2);
         assertThat(page.getTotalElements()).isEqualTo(5);
     }
 
     @Test
-    void findAllByUserShouldReturnEmptyWhenNoNotes() {
-        Page<TextNote> result = textNoteRepository.findAllByUser(user, PageRequest.of(0, 10));
+    void findAllByUserIdShouldReturnEmptyWhenNoNotes() {
+        Page<TextNote> result = textNoteRepository.findAllByUserId(user.getId(), PageRequest.of(0, 10));
 
         assertThat(result.getContent()).isEmpty();
     }
 
     @Test
-    void findByIdAndUserShouldReturnNoteWhenOwned() {
+    void findByIdAndUserIdShouldReturnNoteWhenOwned() {
         TextNote note = createTextNote("My note", user);
         entityManager.flush();
 
-        Optional<TextNote> result = textNoteRepository.findByIdAndUser(note.getId(), user);
+        Optional<TextNote> result = textNoteRepository.findByIdAndUserId(note.getId(), user.getId());
 
         assertThat(result).isPresent();
         assertThat(result.get().getTitle()).isEqualTo("My note");
     }
 
     @Test
-    void findByIdAndUserShouldReturnEmptyWhenNotOwned() {
+    void findByIdAndUserIdShouldReturnEmptyWhenNotOwned() {
         TextNote note = createTextNote("Other's note", otherUser);
         entityManager.flush();
 
-        Optional<TextNote> result = textNoteRepository.findByIdAndUser(note.getId(), user);
+        Optional<TextNote> result = textNoteRepository.findByIdAndUserId(note.getId(), user.getId());
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void keysetQueriesShouldSeekPastCursorInUpdatedOrder() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        TextNote older = createTextNote("Older", user);
+        older.setUpdated(base);
+        TextNote newer = createTextNote("Newer", user);
+        newer.setUpdated(base.plusMinutes(1));
+        createTextNote("Other's note", otherUser);
+        entityManager.flush();
+
+        List<TextNote> first = textNoteRepository.findFirstByUserId(user.getId(), PageRequest.of(0, 1));
+        List<TextNote> next = textNoteRepository.findByUserIdAfter(user.getId(), newer.getUpdated(), newer.getId(), PageRequest.of(0, 1));
+
+        assertThat(first).extracting(TextNote::getTitle).containsExactly("Newer");
+        assertThat(next).extracting(TextNote::getTitle).containsExactly("Older");
+    }
+
+    @Test
+    void findSliceByUserIdShouldDetectNextPageWithoutCounting() {
+        createTextNote("Note 1", user);
+        createTextNote("Note 2", user);
+        createTextNote("Other's note", otherUser);
+        entityManager.flush();
+
+        Slice<TextNote> first = textNoteRepository.findSliceByUserId(user.getId(), PageRequest.of(0, 1));
+        Slice<TextNote> last = textNoteRepository.findSliceByUserId(user.getId(), PageRequest.of(1, 1));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.hasNext()).isFalse();
+        assertThat(textNoteRepository.countByUserId(user.getId())).isEqualTo(2);
+    }
 }
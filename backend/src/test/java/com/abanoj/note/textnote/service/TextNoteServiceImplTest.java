@@ -1,21 +1,30 @@
 package com.abanoj.note.textnote.service;
 
 import com.abanoj.note.auth.SecurityUtils;
+import com.abanoj.note.concurrency.VersionConflicts;
 import com.abanoj.note.exception.ResourceNotFoundException;
+import com.abanoj.note.exception.VersionConflictException;
+import com.abanoj.note.pagination.Cursor;
+import com.abanoj.note.pagination.CursorPage;
 import com.abanoj.note.textnote.entity.TextNote;
 import com.abanoj.note.textnote.repository.TextNoteRepository;
 import com.abanoj.note.user.Role;
 import com.abanoj.note.user.User;
+import com.abanoj.note.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,6 +44,15 @@ class TextNoteServiceImplTest {
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TextNoteCountCache textNoteCountCache;
+
+    @Spy
+    private VersionConflicts versionConflicts = new VersionConflicts(new SimpleMeterRegistry());
+
     @InjectMocks
     private TextNoteServiceImpl textNoteService;
 
@@ -56,20 +74,57 @@ class TextNoteServiceImplTest {
         TextNote note = TextNote.builder().id(1L).title("Note").build();
         Page<TextNote> page = new PageImpl<>(List.of(note));
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findAllByUser(user, pageable)).thenReturn(page);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findAllByUserId(1L, pageable)).thenReturn(page);
 
         Page<TextNote> result = textNoteService.findAllTextNote(pageable);
 
         assertThat(result.getContent()).hasSize(1);
     }
 
+    @Test
+    void findAllTextNoteSliceShouldNotCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<TextNote> slice = new SliceImpl<>(List.of(), pageable, false);
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findSliceByUserId(1L, pageable)).thenReturn(slice);
+
+        Slice<TextNote> result = textNoteService.findAllTextNoteSlice(pageable);
+
+        assertThat(result.hasNext()).isFalse();
+        verify(textNoteRepository, never()).countByUserId(any());
+    }
+
+    @Test
+    void countTextNotesShouldReadCachedCount() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteCountCache.get(1L)).thenReturn(7L);
+
+        assertThat(textNoteService.countTextNotes()).isEqualTo(7L);
+    }
+
+    @Test
+    void scrollTextNotesShouldSeekFromCursorAndReturnNextCursor() {
+        LocalDateTime updated = LocalDateTime.of(2026, 1, 1, 12, 0);
+        TextNote first = TextNote.builder().id(5L).title("First").updated(updated).build();
+        TextNote second = TextNote.builder().id(4L).title("Second").updated(updated).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByUserIdAfter(1L, updated, 6L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+
+        CursorPage<TextNote> result = textNoteService.scrollTextNotes(new Cursor(updated, 6L).encode(), 1);
+
+        assertThat(result.content()).containsExactly(first);
+        assertThat(Cursor.decode(result.nextCursor())).isEqualTo(new Cursor(updated, 5L));
+    }
+
     @Test
     void findTextNoteByIdShouldReturnNoteWhenFound() {
         TextNote note = TextNote.builder().id(1L).title("Note").content("Content").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(note));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(note));
 
         TextNote result = textNoteService.findTextNoteById(1L);
 
@@ -78,32 +133,44 @@ class TextNoteServiceImplTest {
 
     @Test
     void findTextNoteByIdShouldThrowWhenNotFound() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> textNoteService.findTextNoteById(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void findTextNoteVersionShouldThrowWhenNotOwned() {
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findVersionByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> textNoteService.findTextNoteVersion(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(textNoteRepository, never()).findByIdAndUserId(any(), any());
+    }
+
     @Test
     void createTextNoteShouldSaveAndReturn() {
         TextNote input = TextNote.builder().title("New Note").content("Content").build();
         TextNote saved = TextNote.builder().id(1L).title("New Note").content("Content").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(textNoteRepository.save(any(TextNote.class))).thenReturn(saved);
 
         TextNote result = textNoteService.createTextNote(input);
 
         assertThat(result.getId()).isEqualTo(1L);
-        verify(textNoteRepository).save(any(TextNote.class));
+        verify(textNoteRepository).save(argThat(toSave -> toSave.getUser() == user));
+        verify(textNoteCountCache).adjust(1L, 1);
     }
 
     @Test
     void createTextNoteShouldThrowWhenIdAlreadyExists() {
         TextNote input = TextNote.builder().id(1L).title("Existing").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
         assertThatThrownBy(() -> textNoteService.createTextNote(input))
                 .isInstanceOf(IllegalArgumentException.class);
@@ -114,11 +181,11 @@ class TextNoteServiceImplTest {
         TextNote input = TextNote.builder().id(1L).title("Updated").content("New content").build();
         TextNote existing = TextNote.builder().id(1L).title("Old").content("Old content").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(existing));
-        when(textNoteRepository.save(any(TextNote.class))).thenReturn(existing);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(textNoteRepository.saveAndFlush(any(TextNote.class))).thenReturn(existing);
 
-        TextNote result = textNoteService.updateTextNote(1L, input);
+        TextNote result = textNoteService.updateTextNote(1L, input, null);
 
         assertThat(result.getTitle()).isEqualTo("Updated");
         assertThat(result.getContent()).isEqualTo("New content");
@@ -128,9 +195,9 @@ class TextNoteServiceImplTest {
     void updateTextNoteShouldThrowWhenNullId() {
         TextNote input = TextNote.builder().title("No ID").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
-        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input))
+        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("must have an ID");
     }
@@ -139,9 +206,9 @@ class TextNoteServiceImplTest {
     void updateTextNoteShouldThrowWhenIdMismatch() {
         TextNote input = TextNote.builder().id(2L).title("Mismatch").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
 
-        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input))
+        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("do not match");
     }
@@ -150,29 +217,56 @@ class TextNoteServiceImplTest {
     void updateTextNoteShouldThrowWhenNotFound() {
         TextNote input = TextNote.builder().id(1L).title("Not found").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input))
+        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input, null))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void updateTextNoteShouldAcceptMatchingExpectedVersion() {
+        TextNote input = TextNote.builder().id(1L).title("Updated").content("New content").build();
+        TextNote existing = TextNote.builder().id(1L).title("Old").content("Old content").version(7L).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+        when(textNoteRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        assertThat(textNoteService.updateTextNote(1L, input, 7L).getTitle()).isEqualTo("Updated");
+    }
+
+    @Test
+    void updateTextNoteShouldRejectStaleExpectedVersion() {
+        TextNote input = TextNote.builder().id(1L).title("Updated").build();
+        TextNote existing = TextNote.builder().id(1L).title("Old").version(7L).build();
+
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> textNoteService.updateTextNote(1L, input, 6L))
+                .isInstanceOf(VersionConflictException.class)
+                .extracting("reason").isEqualTo(VersionConflictException.Reason.PRECONDITION_FAILED);
+        verify(textNoteRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     void deleteTextNoteShouldDeleteWhenFound() {
         TextNote note = TextNote.builder().id(1L).title("To delete").build();
 
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.of(note));
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(note));
 
         textNoteService.deleteTextNote(1L);
 
         verify(textNoteRepository).delete(note);
+        verify(textNoteCountCache).adjust(1L, -1);
     }
 
     @Test
     void deleteTextNoteShouldThrowWhenNotFound() {
-        when(securityUtils.getCurrentUser()).thenReturn(user);
-        when(textNoteRepository.findByIdAndUser(1L, user)).thenReturn(Optional.empty());
+        when(securityUtils.getCurrentUserId()).thenReturn(1L);
+        when(textNoteRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> textNoteService.deleteTextNote(1L))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -0,0 +1,98 @@
+package com.abanoj.note.token;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenCleanupSchedulerTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private TokenCleanupScheduler scheduler(int chunkSize, int maxChunks, long maxLiveTokens) {
+        return new TokenCleanupScheduler(tokenRepository, tokenRevocationCache, transactionTemplate, meterRegistry,
+                chunkSize, maxChunks, 0, maxLiveTokens);
+    }
+
+    @Test
+    void cleanupShouldDeleteInPrimaryKeyOrderedChunks() {
+        when(tokenRepository.findPurgeableIds(eq(0L), any(), eq(PageRequest.of(0, 2)))).thenReturn(List.of(1L, 2L));
+        when(tokenRepository.findPurgeableIds(eq(2L), any(), eq(PageRequest.of(0, 2)))).thenReturn(List.of(5L));
+        when(tokenRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(tokenRepository.deleteAllByIdIn(List.of(5L))).thenReturn(1);
+        when(tokenRepository.findOldestExpiration(any())).thenReturn(Optional.empty());
+
+        scheduler(2, 10, 0).cleanupExpiredTokens();
+
+        verify(tokenRepository, times(2)).deleteAllByIdIn(any());
+        assertThat(meterRegistry.counter("tokens.cleanup.deleted").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void cleanupShouldStopAfterMaxChunksPerRun() {
+        when(tokenRepository.findPurgeableIds(anyLong(), any(), any())).thenReturn(List.of(1L, 2L));
+        when(tokenRepository.deleteAllByIdIn(any())).thenReturn(2);
+        when(tokenRepository.findOldestExpiration(any())).thenReturn(Optional.empty());
+
+        scheduler(2, 3, 0).cleanupExpiredTokens();
+
+        verify(tokenRepository, times(3)).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void cleanupShouldReportLagOfOldestExpiredToken() {
+        when(tokenRepository.findPurgeableIds(anyLong(), any(), any())).thenReturn(List.of());
+        when(tokenRepository.findOldestExpiration(any())).thenReturn(Optional.of(LocalDateTime.now().minusMinutes(10)));
+
+        scheduler(2, 3, 0).cleanupExpiredTokens();
+
+        assertThat(meterRegistry.get("tokens.cleanup.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(600.0);
+        verify(tokenRepository, never()).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void cleanupShouldRevokeOldestTokensOverPerUserLimit() {
+        when(tokenRepository.findPurgeableIds(anyLong(), any(), any())).thenReturn(List.of());
+        when(tokenRepository.findUsersOverLiveTokenLimit(eq(2L), any(), any())).thenReturn(List.of(1L));
+        when(tokenRepository.findLiveTokenIdsNewestFirst(eq(1L), any())).thenReturn(List.of(9L, 8L, 7L, 6L));
+        when(tokenRepository.revokeAllByIdIn(List.of(7L, 6L))).thenReturn(2);
+        when(tokenRepository.findOldestExpiration(any())).thenReturn(Optional.empty());
+
+        scheduler(100, 3, 2).cleanupExpiredTokens();
+
+        verify(tokenRevocationCache).revokeTokens(1L, List.of(7L, 6L));
+        assertThat(meterRegistry.counter("tokens.cleanup.capped").count()).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.abanoj.note.token;
+
+import com.abanoj.note.user.Role;
+import com.abanoj.note.user.User;
+import com.abanoj.note.user.UserCache;
+import com.abanoj.note.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenGenerationCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    private TokenGenerationCache tokenGenerationCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenGenerationCache = new TokenGenerationCache(userRepository, userCache, 60, 100);
+        user = User.builder()
+                .id(1L)
+                .email("john@email.com")
+                .password("encoded")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void isCurrentShouldLoadGenerationOnce() {
+        when(userRepository.findTokenGenerationByEmail("john@email.com")).thenReturn(Optional.of(2L));
+
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 2L)).isTrue();
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 1L)).isFalse();
+        verify(userRepository, times(1)).findTokenGenerationByEmail("john@email.com");
+    }
+
+    @Test
+    void isCurrentShouldRejectTokenWithoutGeneration() {
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", null)).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void isCurrentShouldRejectUnknownUser() {
+        when(userRepository.findTokenGenerationByEmail("unknown@email.com")).thenReturn(Optional.empty());
+
+        assertThat(tokenGenerationCache.isCurrent("unknown@email.com", 0L)).isFalse();
+    }
+
+    @Test
+    void incrementShouldReplaceCachedGenerationWithValueReadInTransaction() {
+        when(userRepository.findTokenGenerationByEmail("john@email.com")).thenReturn(Optional.of(0L));
+        when(userRepository.findTokenGenerationById(1L)).thenReturn(Optional.of(1L));
+
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isTrue();
+        assertThat(tokenGenerationCache.increment(user)).isEqualTo(1L);
+
+        verify(userRepository).incrementTokenGeneration(1L);
+        verify(userCache).invalidate("john@email.com");
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isFalse();
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 1L)).isTrue();
+        verify(userRepository, times(1)).findTokenGenerationByEmail("john@email.com");
+    }
+
+    @Test
+    void incrementShouldLeaveCachesUntouchedUntilCommit() {
+        when(userRepository.findTokenGenerationByEmail("john@email.com")).thenReturn(Optional.of(0L));
+        when(userRepository.findTokenGenerationById(1L)).thenReturn(Optional.of(1L));
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(tokenGenerationCache.increment(user)).isEqualTo(1L);
+
+            assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isTrue();
+            verifyNoInteractions(userCache);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 1L)).isTrue();
+        verify(userCache).invalidate("john@email.com");
+    }
+
+    @Test
+    void incrementShouldNotTouchCachesWhenRolledBack() {
+        when(userRepository.findTokenGenerationByEmail("john@email.com")).thenReturn(Optional.of(0L));
+        when(userRepository.findTokenGenerationById(1L)).thenReturn(Optional.of(1L));
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenGenerationCache.increment(user);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(tokenGenerationCache.isCurrent("john@email.com", 0L)).isTrue();
+        verifyNoInteractions(userCache);
+    }
+}
@@ -7,8 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +42,7 @@ class TokenRepositoryTest {
     private Token createToken(String tokenValue, boolean revoked) {
         Token token = Token.builder()
                 .token(tokenValue)
+                .tokenHash(TokenDigest.sha256(tokenValue))
                 .tokenType(TokenType.BEARER)
                 .revoked(revoked)
                 .user(user)
@@ -77,20 +80,97 @@ class TokenRepositoryTest {
     }
 
     @Test
-    void findByTokenShouldReturnTokenWhenExists() {
+    void revokeAllByUserShouldRevokeOnlyActiveTokens() {
+        createToken("active-1", false);
+        createToken("active-2", false);
+        createToken("already-revoked", true);
+        entityManager.flush();
+
+        int revoked = tokenRepository.revokeAllByUser(user.getId());
+        entityManager.clear();
+
+        assertThat(revoked).isEqualTo(2);
+        assertThat(tokenRepository.findAllValidTokensByUser(user.getId())).isEmpty();
+    }
+
+    @Test
+    void findByTokenHashShouldReturnTokenWhenExists() {
         createToken("my-token", false);
         entityManager.flush();
 
-        Optional<Token> result = tokenRepository.findByToken("my-token");
+        Optional<Token> result = tokenRepository.findByTokenHash(TokenDigest.sha256("my-token"));
 
         assertThat(result).isPresent();
         assertThat(result.get().getUser().getEmail()).isEqualTo("test@email.com");
     }
 
     @Test
-    void findByTokenShouldReturnEmptyWhenNotExists() {
-        Optional<Token> result = tokenRepository.findByToken("non-existent");
+    void findByTokenHashShouldReturnEmptyWhenNotExists() {
+        Optional<Token> result = tokenRepository.findByTokenHash(TokenDigest.sha256("non-existent"));
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void findTokensWithoutHashShouldReturnOnlyLegacyRows() {
+        createToken("hashed", false);
+        Token legacy = Token.builder()
+                .token("legacy")
+                .tokenType(TokenType.BEARER)
+                .user(user)
+                .build();
+        entityManager.persist(legacy);
+        entityManager.flush();
+
+        List<Token> result = tokenRepository.findTokensWithoutHash(PageRequest.of(0, 10));
+
+        assertThat(result).extracting(Token::getToken).containsExactly("legacy");
+    }
+
+    private Token createToken(String tokenValue, boolean revoked, LocalDateTime expiresAt) {
+        Token token = createToken(tokenValue, revoked);
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+
+    @Test
+    void findPurgeableIdsShouldReturnExpiredAndRevokedInIdOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        Token expired = createToken("expired", false, now.minusMinutes(1));
+        createToken("live", false, now.plusMinutes(10));
+        Token revoked = createToken("revoked", true, now.plusMinutes(10));
+        Token expiredLater = createToken("expired-2", false, now.minusMinutes(5));
+        entityManager.flush();
+
+        List<Long> firstChunk = tokenRepository.findPurgeableIds(0L, now, PageRequest.of(0, 2));
+        List<Long> secondChunk = tokenRepository.findPurgeableIds(firstChunk.get(1), now, PageRequest.of(0, 2));
+
+        assertThat(firstChunk).containsExactly(expired.getId(), revoked.getId());
+        assertThat(secondChunk).containsExactly(expiredLater.getId());
+    }
+
+    @Test
+    void deleteAllByIdInShouldDeleteOnlyGivenIds() {
+        Token first = createToken("first", true);
+        Token second = createToken("second", true);
+        entityManager.flush();
+
+        int deleted = tokenRepository.deleteAllByIdIn(List.of(first.getId()));
+        entityManager.clear();
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(tokenRepository.findById(second.getId())).isPresent();
+    }
+
+    @Test
+    void findUsersOverLiveTokenLimitShouldCountOnlyLiveTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        createToken("live-1", false, now.plusMinutes(10));
+        createToken("live-2", false, now.plusMinutes(10));
+        createToken("revoked", true, now.plusMinutes(10));
+        entityManager.flush();
+
+        assertThat(tokenRepository.findUsersOverLiveTokenLimit(1, now, PageRequest.of(0, 10))).containsExactly(user.getId());
+        assertThat(tokenRepository.findUsersOverLiveTokenLimit(2, now, PageRequest.of(0, 10))).isEmpty();
+    }
 }
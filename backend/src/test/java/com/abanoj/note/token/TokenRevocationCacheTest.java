@@ -0,0 +1,163 @@
+package com.abanoj.note.token;
+
+import com.abanoj.note.user.Role;
+import com.abanoj.note.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCacheTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    private TokenRevocationCache tokenRevocationCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationCache = new TokenRevocationCache(tokenRepository, 100);
+        user = User.builder()
+                .id(1L)
+                .email("john@email.com")
+                .password("encoded")
+                .role(Role.USER)
+                .build();
+    }
+
+    private Token token(String value, boolean revoked, LocalDateTime expiresAt) {
+        return Token.builder()
+                .token(value)
+                .tokenType(TokenType.BEARER)
+                .revoked(revoked)
+                .expiresAt(expiresAt)
+                .user(user)
+                .build();
+    }
+
+    @Test
+    void isActiveShouldNotHitRepositoryForIssuedToken() {
+        tokenRevocationCache.put("issued", token("issued", false, LocalDateTime.now().plusMinutes(15)));
+
+        assertThat(tokenRevocationCache.isActive("issued")).isTrue();
+        verifyNoInteractions(tokenRepository);
+    }
+
+    @Test
+    void isActiveShouldLoadFromRepositoryOnceOnMiss() {
+        when(tokenRepository.findByTokenHash(TokenDigest.sha256("stored"))).thenReturn(Optional.of(token("stored", false, LocalDateTime.now().plusMinutes(15))));
+
+        assertThat(tokenRevocationCache.isActive("stored")).isTrue();
+        assertThat(tokenRevocationCache.isActive("stored")).isTrue();
+        verify(tokenRepository, times(1)).findByTokenHash(any());
+    }
+
+    @Test
+    void isActiveShouldReturnFalseWhenTokenUnknown() {
+        when(tokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThat(tokenRevocationCache.isActive("unknown")).isFalse();
+    }
+
+    @Test
+    void revokeAllForUserShouldFlipCachedTokens() {
+        tokenRevocationCache.put("access", token("access", false, LocalDateTime.now().plusMinutes(15)));
+        tokenRevocationCache.put("refresh", token("refresh", false, LocalDateTime.now().plusDays(7)));
+
+        tokenRevocationCache.revokeAllForUser(1L);
+
+        assertThat(tokenRevocationCache.isActive("access")).isFalse();
+        assertThat(tokenRevocationCache.isActive("refresh")).isFalse();
+        verifyNoInteractions(tokenRepository);
+    }
+
+    @Test
+    void revokeAllForUserShouldFlipTokenCachedTwice() {
+        tokenRevocationCache.put("refresh", token("refresh", false, LocalDateTime.now().plusDays(7)));
+        tokenRevocationCache.put("refresh", token("refresh", false, LocalDateTime.now().plusDays(7)));
+
+        tokenRevocationCache.revokeAllForUser(1L);
+
+        assertThat(tokenRevocationCache.isActive("refresh")).isFalse();
+    }
+
+    @Test
+    void revokeAllForUserShouldFlipTokenLoadedAfterBeingIssued() {
+        when(tokenRepository.findByTokenHash(TokenDigest.sha256("stored"))).thenReturn(Optional.of(token("stored", false, LocalDateTime.now().plusDays(7))));
+
+        assertThat(tokenRevocationCache.isActive("stored")).isTrue();
+        tokenRevocationCache.put("stored", token("stored", false, LocalDateTime.now().plusDays(7)));
+        tokenRevocationCache.revokeAllForUser(1L);
+
+        assertThat(tokenRevocationCache.isActive("stored")).isFalse();
+    }
+
+    @Test
+    void isActiveShouldFallBackToRepositoryAfterExpiry() {
+        tokenRevocationCache.put("expired", token("expired", false, LocalDateTime.now().minusSeconds(1)));
+        when(tokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThat(tokenRevocationCache.isActive("expired")).isFalse();
+        verify(tokenRepository).findByTokenHash(any());
+    }
+
+    @Test
+    void revokeTokensShouldFlipOnlyGivenIds() {
+        Token older = token("older", false, LocalDateTime.now().plusDays(7));
+        older.setId(1L);
+        Token newer = token("newer", false, LocalDateTime.now().plusDays(7));
+        newer.setId(2L);
+        tokenRevocationCache.put("older", older);
+        tokenRevocationCache.put("newer", newer);
+
+        tokenRevocationCache.revokeTokens(1L, List.of(1L));
+
+        assertThat(tokenRevocationCache.isActive("older")).isFalse();
+        assertThat(tokenRevocationCache.isActive("newer")).isTrue();
+    }
+
+    @Test
+    void revokeAllForUserShouldWaitForCommit() {
+        tokenRevocationCache.put("refresh", token("refresh", false, LocalDateTime.now().plusDays(7)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationCache.revokeAllForUser(1L);
+            assertThat(tokenRevocationCache.isActive("refresh")).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(tokenRevocationCache.isActive("refresh")).isFalse();
+    }
+
+    @Test
+    void putShouldNotCacheTokenWhoseInsertRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenRevocationCache.put("issued", token("issued", false, LocalDateTime.now().plusMinutes(15)));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(tokenRepository.findByTokenHash(TokenDigest.sha256("issued"))).thenReturn(Optional.empty());
+
+        assertThat(tokenRevocationCache.isActive("issued")).isFalse();
+    }
+}
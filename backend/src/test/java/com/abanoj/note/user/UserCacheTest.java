@@ -0,0 +1,62 @@
+package com.abanoj.note.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, 60, 100);
+        user = User.builder()
+                .id(1L)
+                .email("john@email.com")
+                .password("encoded")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void findByEmailShouldHitRepositoryOnlyOnce() {
+        when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
+
+        assertThat(userCache.findByEmail("john@email.com")).contains(user);
+        assertThat(userCache.findByEmail("john@email.com")).contains(user);
+        verify(userRepository, times(1)).findByEmail("john@email.com");
+    }
+
+    @Test
+    void findByEmailShouldNotCacheMissingUser() {
+        when(userRepository.findByEmail("new@email.com")).thenReturn(Optional.empty(), Optional.of(user));
+
+        assertThat(userCache.findByEmail("new@email.com")).isEmpty();
+        assertThat(userCache.findByEmail("new@email.com")).contains(user);
+    }
+
+    @Test
+    void invalidateShouldForceReload() {
+        when(userRepository.findByEmail("john@email.com")).thenReturn(Optional.of(user));
+
+        userCache.findByEmail("john@email.com");
+        userCache.invalidate("john@email.com");
+        userCache.findByEmail("john@email.com");
+
+        verify(userRepository, times(2)).findByEmail("john@email.com");
+    }
+}
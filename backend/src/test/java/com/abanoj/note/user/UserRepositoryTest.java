@@ -65,4 +65,38 @@ class UserRepositoryTest {
             entityManager.flush();
         }).isInstanceOf(Exception.class);
     }
+
+    @Test
+    void incrementTokenGenerationShouldAdvanceCounter() {
+        User user = User.builder()
+                .email("gen@email.com")
+                .password("password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+
+        int updated = userRepository.incrementTokenGeneration(user.getId());
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findTokenGenerationByEmail("gen@email.com")).contains(1L);
+    }
+
+    @Test
+    void updatePasswordShouldReplaceStoredHash() {
+        User user = User.builder()
+                .email("rehash@email.com")
+                .password("old-hash")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+
+        int updated = userRepository.updatePassword("rehash@email.com", "new-hash");
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findByEmail("rehash@email.com")).get().extracting(User::getPassword).isEqualTo("new-hash");
+    }
 }